@@ -0,0 +1,34 @@
+-- =====================================================
+-- Migration: pooled sequence ids for _user, events and bookings
+-- =====================================================
+-- Entities used to generate ids with IDENTITY, which forces Hibernate to run each INSERT on
+-- its own. They now draw ids from <table>_id_seq in blocks of app.id.allocation-size (50).
+-- Run once against an existing database before deploying; keep INCREMENT BY in sync with
+-- app.id.allocation-size.
+--
+-- Works for both BIGSERIAL columns (schema_dump.sql) and identity columns created by
+-- Hibernate. Column defaults are kept for BIGSERIAL so manual INSERTs still work.
+
+DO $$
+DECLARE
+    tbl TEXT;
+    seq TEXT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['_user', 'users', 'events', 'bookings'] LOOP
+        IF to_regclass(tbl) IS NULL THEN
+            CONTINUE;
+        END IF;
+        seq := tbl || '_id_seq';
+
+        -- Identity columns own their sequence and reject nextval-based inserts from Hibernate
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = tbl AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY', tbl);
+        END IF;
+
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I', seq);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', seq);
+        -- The pooled optimizer treats nextval as the top of a block, so start one block above MAX(id)
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) FROM %I) + 50, false)', seq, tbl);
+    END LOOP;
+END $$;
@@ -25,10 +25,10 @@ SET client_encoding = 'UTF8';
 SET standard_conforming_strings = on;
 
 -- =====================================================
--- Table: users
+-- Table: _user
 -- =====================================================
 
-CREATE TABLE users (
+CREATE TABLE _user (
     id BIGSERIAL PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) UNIQUE NOT NULL,
@@ -37,7 +37,7 @@ CREATE TABLE users (
 );
 
 -- Index on email for faster lookups
-CREATE INDEX idx_users_email ON users(email);
+CREATE INDEX idx_user_email ON _user(email);
 
 -- =====================================================
 -- Table: events
@@ -61,10 +61,18 @@ CREATE TABLE events (
 
 -- Indexes for performance
 CREATE INDEX idx_event_date ON events(date);
+CREATE INDEX idx_event_date_id ON events(date, id);
 CREATE INDEX idx_event_category ON events(category);
 CREATE INDEX idx_event_location ON events(location);
 CREATE INDEX idx_event_is_active ON events(is_active);
 
+-- Full-text search (kept in sync by PostgreSQL, see EventSearchIndex)
+ALTER TABLE events ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(category, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(location, '')), 'B')) STORED;
+CREATE INDEX idx_event_search_vector ON events USING GIN (search_vector);
+
 -- Constraint: available_seats cannot exceed capacity
 ALTER TABLE events ADD CONSTRAINT chk_available_seats 
     CHECK (available_seats <= capacity);
@@ -80,16 +88,18 @@ CREATE TABLE bookings (
     booking_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     number_of_tickets INTEGER NOT NULL CHECK (number_of_tickets > 0),
     status VARCHAR(50) NOT NULL CHECK (status IN ('CONFIRMED', 'CANCELLED', 'PENDING')),
+    hold_expires_at TIMESTAMP, -- set while a PENDING seat hold is open
     
     -- Foreign Keys
     CONSTRAINT fk_booking_user FOREIGN KEY (user_id) 
-        REFERENCES users(id) ON DELETE CASCADE,
+        REFERENCES _user(id) ON DELETE CASCADE,
     CONSTRAINT fk_booking_event FOREIGN KEY (event_id) 
         REFERENCES events(id) ON DELETE CASCADE
 );
 
 -- Indexes for faster queries
 CREATE INDEX idx_booking_user_id ON bookings(user_id);
+CREATE INDEX idx_booking_user_id_id ON bookings(user_id, id);
 CREATE INDEX idx_booking_event_id ON bookings(event_id);
 CREATE INDEX idx_booking_status ON bookings(status);
 CREATE INDEX idx_booking_date ON bookings(booking_date);
@@ -109,13 +119,38 @@ CREATE TABLE tokens (
     
     -- Foreign Key
     CONSTRAINT fk_token_user FOREIGN KEY (user_id) 
-        REFERENCES users(id) ON DELETE CASCADE
+        REFERENCES _user(id) ON DELETE CASCADE
 );
 
 -- Index for token lookup
 CREATE INDEX idx_token_user_id ON tokens(user_id);
 CREATE INDEX idx_token_expired ON tokens(expired);
 
+-- =====================================================
+-- Table: rate_limit_buckets (shared booking rate limits, app.rate-limit.backend=jdbc)
+-- =====================================================
+
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tat BIGINT NOT NULL -- GCRA theoretical arrival time, epoch millis
+);
+
+-- =====================================================
+-- Table: refresh_token_families (one row per login session; holds the only valid refresh token id)
+-- =====================================================
+
+CREATE TABLE refresh_token_families (
+    family_id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    current_token_id UUID NOT NULL, -- jti of the family's current refresh token
+    previous_token_id UUID, -- jti rotated away last, accepted as a retry within the grace window
+    rotated_at TIMESTAMP, -- when previous_token_id was rotated away
+    expires_at TIMESTAMP NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX idx_refresh_token_families_user_id ON refresh_token_families (user_id);
+
 -- =====================================================
 -- Sample Data (Optional - for testing)
 -- =====================================================
@@ -123,12 +158,12 @@ CREATE INDEX idx_token_expired ON tokens(expired);
 -- Insert Admin User
 -- Credentials: admin@gmail.com / password123
 -- Password is BCrypt hashed with strength 10
-INSERT INTO users (name, email, password, role) VALUES
+INSERT INTO _user (name, email, password, role) VALUES
 ('Admin', 'admin@gmail.com', '$2a$10$N9qo8uLOickgx2ZMRZoMye/IVI9jZ.qPZRQJbSQ5YrHFqJNQ6LjKu', 'ADMIN');
 
 -- Insert Regular User (optional - for testing)
 -- Credentials: user@example.com / password123
-INSERT INTO users (name, email, password, role) VALUES
+INSERT INTO _user (name, email, password, role) VALUES
 ('John Doe', 'user@example.com', '$2a$10$N9qo8uLOickgx2ZMRZoMye/IVI9jZ.qPZRQJbSQ5YrHFqJNQ6LjKu', 'USER');
 
 -- Insert Sample Events
@@ -138,6 +173,18 @@ INSERT INTO events (title, description, date, location, category, ticket_price,
 ('Urban Art & Design Expo', 'Explore contemporary art and design', '2026-03-01 09:00:00', 'Delhi, India', 'Art', 50.00, 200, 200, 'https://images.unsplash.com/photo-1561214115-f2f134cc4912', TRUE),
 ('Neon Dreams V2 (Rescheduled)', 'Electronic music festival', '2026-03-15 20:00:00', 'Goa, India', 'Music', 120.00, 500, 500, 'https://images.unsplash.com/photo-1470229722913-7c0e2dbbafd3', TRUE);
 
+-- =====================================================
+-- ID sequences (pooled, app.id.allocation-size = 50)
+-- =====================================================
+-- Hibernate reserves ids in blocks of 50, see db/pooled_id_sequences.sql
+
+ALTER SEQUENCE _user_id_seq INCREMENT BY 50;
+ALTER SEQUENCE events_id_seq INCREMENT BY 50;
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 50;
+SELECT setval('_user_id_seq', (SELECT COALESCE(MAX(id), 0) FROM _user) + 50, false);
+SELECT setval('events_id_seq', (SELECT COALESCE(MAX(id), 0) FROM events) + 50, false);
+SELECT setval('bookings_id_seq', (SELECT COALESCE(MAX(id), 0) FROM bookings) + 50, false);
+
 -- =====================================================
 -- Views (Optional - for reporting)
 -- =====================================================
@@ -174,7 +221,7 @@ SELECT
     b.number_of_tickets,
     b.status,
     (e.ticket_price * b.number_of_tickets) AS total_amount
-FROM users u
+FROM _user u
 JOIN bookings b ON u.id = b.user_id
 JOIN events e ON b.event_id = e.id;
 
@@ -235,7 +282,7 @@ EXECUTE FUNCTION update_available_seats();
 -- Comments (Documentation)
 -- =====================================================
 
-COMMENT ON TABLE users IS 'Stores user authentication and profile information';
+COMMENT ON TABLE _user IS 'Stores user authentication and profile information';
 COMMENT ON TABLE events IS 'Stores event details with soft delete support';
 COMMENT ON TABLE bookings IS 'Stores ticket booking records';
 COMMENT ON TABLE tokens IS 'Stores JWT refresh tokens for authentication';
@@ -0,0 +1,18 @@
+package com.eventconnect.server.cache;
+
+import java.util.List;
+
+/**
+ * A change to a cached entity, broadcast to every node by the InvalidationBus.
+ *
+ * @param entity     cache topic, e.g. "event"
+ * @param id         changed entity, or null to drop everything cached for the topic
+ * @param searchText searchable text of the entity before and after the change, used to find
+ *                   cached search results it could appear in
+ */
+public record EntityChange(String entity, Long id, List<String> searchText) {
+
+    public static EntityChange all(String entity) {
+        return new EntityChange(entity, null, List.of());
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventconnect.server.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts entity changes so every node can evict its local caches.
+ * The backend is chosen with app.cache.invalidation.backend (loopback or postgres).
+ */
+public interface InvalidationBus {
+
+    /**
+     * Sends the change to all subscribers of its entity, on every node. Call after commit.
+     */
+    void publish(EntityChange change);
+
+    void subscribe(String entity, Consumer<EntityChange> listener);
+}
@@ -0,0 +1,93 @@
+package com.eventconnect.server.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single-node bus: changes are delivered to subscribers in this JVM. By default delivery is
+ * synchronous; with app.cache.invalidation.loopback.coalesce-ms set, changes are held for that
+ * window and their distinct set delivered once, as PostgresInvalidationBus does across nodes.
+ */
+@Service
+@ConditionalOnProperty(name = "app.cache.invalidation.backend", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private final Map<String, List<Consumer<EntityChange>>> subscribers = new ConcurrentHashMap<>();
+
+    private final long coalesceMs;
+
+    // Guarded by itself
+    private final Set<EntityChange> pending = new LinkedHashSet<>();
+    private ScheduledExecutorService scheduler;
+
+    public LoopbackInvalidationBus(@Value("${app.cache.invalidation.loopback.coalesce-ms:0}") long coalesceMs) {
+        this.coalesceMs = coalesceMs;
+    }
+
+    @PostConstruct
+    void start() {
+        if (coalesceMs > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "invalidation-loopback");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void publish(EntityChange change) {
+        if (scheduler == null) {
+            deliver(change);
+            return;
+        }
+        synchronized (pending) {
+            // The first change of a window schedules its delivery
+            if (pending.isEmpty()) {
+                scheduler.schedule(this::flush, coalesceMs, TimeUnit.MILLISECONDS);
+            }
+            pending.add(change);
+        }
+    }
+
+    @Override
+    public void subscribe(String entity, Consumer<EntityChange> listener) {
+        subscribers.computeIfAbsent(entity, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    // Delivers everything held so far; called when the window closes
+    void flush() {
+        List<EntityChange> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        batch.forEach(this::deliver);
+    }
+
+    private void deliver(EntityChange change) {
+        subscribers.getOrDefault(change.entity(), List.of()).forEach(listener -> listener.accept(change));
+    }
+}
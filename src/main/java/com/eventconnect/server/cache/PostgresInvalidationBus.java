@@ -0,0 +1,209 @@
+package com.eventconnect.server.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node invalidation over PostgreSQL LISTEN/NOTIFY.
+ *
+ * Changes are queued and sent every app.cache.invalidation.coalesce-ms as one NOTIFY carrying
+ * the distinct changes of that window, so a bulk admin edit costs a few messages instead of one
+ * per row. Every node keeps a dedicated connection LISTENing on the channel. Notifications sent
+ * while that connection is down are lost, so after reconnecting the node drops all subscribed
+ * caches. Propagation lag (publish to apply, across node clocks) is recorded as
+ * cache.invalidation.lag.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.cache.invalidation.backend", havingValue = "postgres")
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final String CHANNEL = "cache_invalidation";
+    // NOTIFY payloads must stay under 8000 bytes
+    private static final int MAX_PAYLOAD_CHARS = 7000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final Timer lag;
+
+    @Value("${app.cache.invalidation.coalesce-ms:20}")
+    private long coalesceMs;
+
+    @Value("${app.cache.invalidation.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<EntityChange>>> subscribers = new ConcurrentHashMap<>();
+    private final BlockingQueue<EntityChange> outbox = new LinkedBlockingQueue<>();
+    private Thread publisher;
+    private Thread listener;
+    private volatile boolean running = true;
+
+    public PostgresInvalidationBus(JdbcTemplate jdbcTemplate,
+                                   DataSourceProperties dataSourceProperties,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from publishing an entity change to applying it on another node")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        publisher = daemon(this::runPublisher, "invalidation-publisher");
+        listener = daemon(this::runListener, "invalidation-listener");
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        publisher.interrupt();
+        listener.interrupt();
+    }
+
+    @Override
+    public void publish(EntityChange change) {
+        // This node has already evicted; the message is for the others
+        outbox.add(change);
+    }
+
+    @Override
+    public void subscribe(String entity, Consumer<EntityChange> listener) {
+        subscribers.computeIfAbsent(entity, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void runPublisher() {
+        while (running) {
+            Set<EntityChange> batch = new LinkedHashSet<>();
+            try {
+                batch.add(outbox.take());
+                Thread.sleep(coalesceMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            outbox.drainTo(batch);
+            try {
+                for (String payload : toPayloads(new ArrayList<>(batch))) {
+                    jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, CHANNEL, payload);
+                }
+            } catch (DataAccessException | JsonProcessingException e) {
+                // Other nodes catch up when their entries expire
+                log.warn("Failed to publish {} cache invalidations: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    // Splits the batch so every NOTIFY stays under the payload limit
+    private List<String> toPayloads(List<EntityChange> changes) throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(new Envelope(nodeId, System.currentTimeMillis(), changes));
+        if (payload.length() <= MAX_PAYLOAD_CHARS || changes.size() == 1) {
+            return List.of(payload);
+        }
+        int half = changes.size() / 2;
+        List<String> payloads = new ArrayList<>(toPayloads(changes.subList(0, half)));
+        payloads.addAll(toPayloads(changes.subList(half, changes.size())));
+        return payloads;
+    }
+
+    private void runListener() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                // Anything published while we weren't listening is lost
+                subscribers.keySet().forEach(entity -> deliver(EntityChange.all(entity)));
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) reconnectDelayMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener disconnected, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            Envelope envelope = objectMapper.readValue(payload, Envelope.class);
+            if (nodeId.equals(envelope.origin())) {
+                return;
+            }
+            envelope.changes().forEach(this::deliver);
+            lag.record(Math.max(0, System.currentTimeMillis() - envelope.publishedAt()), TimeUnit.MILLISECONDS);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(EntityChange change) {
+        subscribers.getOrDefault(change.entity(), List.of()).forEach(subscriber -> {
+            try {
+                subscriber.accept(change);
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation for {} failed: {}", change.entity(), e.getMessage());
+            }
+        });
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    record Envelope(String origin, long publishedAt, List<EntityChange> changes) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.eventconnect.server.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+
+/**
+ * Small bounded in-process cache with per-entry TTL and approximate LRU eviction.
+ * Reads never lock: each entry records roughly when it was last read, and once the cache grows
+ * past maxSize one writer trims the least recently read tenth. Keeps hit/miss/eviction counters
+ * so callers can publish them as metrics.
+ */
+public class TtlCache<K, V> {
+
+    // Reads closer together than this don't update an entry's access time
+    private static final long ACCESS_GRANULARITY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int maxSize;
+    private final long defaultTtlNanos;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock trimLock = new ReentrantLock();
+    // Bumped before every invalidation, so loads that overlap one can be discarded
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.defaultTtlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the cached value, or null when absent or expired.
+     */
+    public V get(K key) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt - now <= 0) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        if (now - entry.accessedAt > ACCESS_GRANULARITY_NANOS) {
+            entry.accessedAt = now;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtlNanos);
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, ttl.toNanos());
+    }
+
+    /**
+     * Current generation; read it before loading a value and pass it to putIfUnchanged.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a value loaded after generation() returned the given generation, unless something
+     * was invalidated since. A load that read data before a concurrent invalidation (e.g. the
+     * row before a commit) would otherwise be cached after it and served for a full TTL.
+     */
+    public void putIfUnchanged(K key, V value, long generation) {
+        putIfUnchanged(key, value, defaultTtlNanos, generation);
+    }
+
+    public void putIfUnchanged(K key, V value, Duration ttl, long generation) {
+        putIfUnchanged(key, value, ttl.toNanos(), generation);
+    }
+
+    private void putIfUnchanged(K key, V value, long ttlNanos, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        Entry<V> entry = put(key, value, ttlNanos);
+        // An invalidation between the check and the put bumped the generation first, then either
+        // removed this entry or ran before it was added; in the latter case remove it here
+        if (entry != null && this.generation.get() != generation) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private Entry<V> put(K key, V value, long ttlNanos) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        long now = System.nanoTime();
+        Entry<V> entry = new Entry<>(value, now + ttlNanos, now);
+        entries.put(key, entry);
+        if (entries.size() > maxSize) {
+            trim();
+        }
+        return entry;
+    }
+
+    // Drops expired entries, then the least recently read until a tenth below maxSize, so this
+    // runs once per many puts. Puts racing with a trim may leave the cache briefly over size.
+    private void trim() {
+        if (!trimLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            entries.entrySet().removeIf(e -> {
+                if (e.getValue().expiresAt - now <= 0) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            });
+            int excess = entries.size() - (maxSize - maxSize / 10);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<K, Entry<V>>> oldest = new ArrayList<>(entries.entrySet());
+            oldest.sort(Comparator.comparingLong(e -> e.getValue().accessedAt - now));
+            for (int i = 0; i < excess && i < oldest.size(); i++) {
+                if (entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue())) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            trimLock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+        generation.incrementAndGet();
+        entries.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        // Approximate; written without coordination by readers
+        private volatile long accessedAt;
+
+        Entry(V value, long expiresAt, long accessedAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.accessedAt = accessedAt;
+        }
+    }
+}
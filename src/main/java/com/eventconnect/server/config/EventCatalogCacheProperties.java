@@ -0,0 +1,25 @@
+package com.eventconnect.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Public event catalog cache (app.events.cache.*), see EventCatalogCache.
+ *
+ * @param enabled               serve every catalog request from the database when false
+ * @param maxSize               events and seat counts kept per node
+ * @param pageMaxSize           search pages and listing totals kept per node
+ * @param ttlSec                how long events, pages and exact totals are kept
+ * @param exactCountThreshold   listings matching at most this many events get an exact COUNT(*), larger ones a planner estimate
+ * @param estimatedCountTtlSec  how long an estimated total is kept
+ * @param seatsTtlMs            how stale a seat count shown in the catalog may be
+ */
+@ConfigurationProperties("app.events.cache")
+public record EventCatalogCacheProperties(@DefaultValue("true") boolean enabled,
+                                          @DefaultValue("10000") int maxSize,
+                                          @DefaultValue("1000") int pageMaxSize,
+                                          @DefaultValue("60") long ttlSec,
+                                          @DefaultValue("1000") long exactCountThreshold,
+                                          @DefaultValue("300") long estimatedCountTtlSec,
+                                          @DefaultValue("1000") long seatsTtlMs) {
+}
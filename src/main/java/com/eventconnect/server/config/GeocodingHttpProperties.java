@@ -0,0 +1,27 @@
+package com.eventconnect.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Connection limits for the geocoding services (app.geocoding.http.*), see GeocodingHttpClient.
+ *
+ * @param connectTimeoutMs time allowed to open a connection
+ * @param requestTimeoutMs time allowed for a response, and for a queued request to wait for a turn
+ * @param maxPerHost       requests running against one host at once
+ * @param maxQueuedPerHost requests waiting for a host before new ones are refused
+ */
+@ConfigurationProperties("app.geocoding.http")
+public record GeocodingHttpProperties(@DefaultValue("2000") long connectTimeoutMs,
+                                      @DefaultValue("3000") long requestTimeoutMs,
+                                      @DefaultValue("2") int maxPerHost,
+                                      @DefaultValue("50") int maxQueuedPerHost,
+                                      @DefaultValue Breaker breaker) {
+
+    /**
+     * @param failureThreshold consecutive failures that open a host's circuit
+     * @param openMs           how long an open circuit fails requests before a probe is let through
+     */
+    public record Breaker(@DefaultValue("5") int failureThreshold, @DefaultValue("30000") long openMs) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.eventconnect.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * External geocoding lookups (app.geocoding.*), see LocationService.
+ *
+ * @param ipapiUrl       base URL of the IP location service
+ * @param nominatimUrl   base URL of the reverse geocoding service
+ * @param ipDatabaseFile local IP range CSV (see IpRangeIndex); addresses it covers never reach ipapiUrl
+ */
+@ConfigurationProperties("app.geocoding")
+public record GeocodingProperties(@DefaultValue("https://ipapi.co") String ipapiUrl,
+                                  @DefaultValue("https://nominatim.openstreetmap.org") String nominatimUrl,
+                                  @DefaultValue("") String ipDatabaseFile,
+                                  @DefaultValue Cache cache) {
+
+    /**
+     * @param precision      geohash precision of coordinate cells (7 chars ~ 150m)
+     * @param maxSize        coordinate cells and IP prefixes kept per node, each
+     * @param ttlSec         how long a resolved location is kept
+     * @param negativeTtlSec how long a lookup the provider rejected (4xx) is remembered; outages
+     *                       are left to the circuit breaker so retries reach the provider again
+     */
+    public record Cache(@DefaultValue("7") int precision,
+                        @DefaultValue("10000") int maxSize,
+                        @DefaultValue("86400") long ttlSec,
+                        @DefaultValue("60") long negativeTtlSec) {
+    }
+}
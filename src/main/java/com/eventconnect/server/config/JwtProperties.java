@@ -0,0 +1,35 @@
+package com.eventconnect.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Token signing and verification (app.jwt.*), see JwtUtils and JwtKeySet.
+ *
+ * @param algorithm           HS256 with the shared secret, or ES256 with the keys in keys.dir
+ * @param secret              base64 HS256 secret; in ES256 mode, set only while old HS256 tokens are still accepted
+ * @param expirationMs        access token lifetime
+ * @param refreshExpirationMs refresh token lifetime
+ */
+@ConfigurationProperties("app.jwt")
+public record JwtProperties(@DefaultValue("HS256") String algorithm,
+                            @DefaultValue("") String secret,
+                            long expirationMs,
+                            long refreshExpirationMs,
+                            @DefaultValue VerifiedCache verifiedCache,
+                            @DefaultValue Keys keys) {
+
+    /**
+     * @param maxSize verified tokens kept per node; 0 verifies every request
+     * @param ttlSec  how long a verified token is kept, never past its expiry
+     */
+    public record VerifiedCache(@DefaultValue("10000") int maxSize, @DefaultValue("60") long ttlSec) {
+    }
+
+    /**
+     * @param dir       directory of ES256 PEM key pairs
+     * @param activeKid key id to sign with; the last complete pair in sort order when blank
+     */
+    public record Keys(@DefaultValue("") String dir, @DefaultValue("") String activeKid) {
+    }
+}
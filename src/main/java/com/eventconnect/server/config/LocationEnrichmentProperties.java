@@ -0,0 +1,27 @@
+package com.eventconnect.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Background geocoding of booking locations (app.geocoding.enrichment.*), see BookingLocationEnricher.
+ *
+ * @param workers           threads resolving queued bookings
+ * @param queueCapacity     bookings waiting for a worker; further ones are left to the sweep
+ * @param batchSize         bookings resolved and written per transaction
+ * @param maxAttempts       lookups per booking before falling back to raw coordinates
+ * @param retryBackoffMs    delay before the first retry, doubled for each later one
+ * @param sweepBatchSize    unresolved bookings re-queued per sweep
+ * @param sweepMinAgeSec    how old a booking must be before the sweep treats it as lost
+ * @param shutdownTimeoutMs how long shutdown waits for the queue to drain
+ */
+@ConfigurationProperties("app.geocoding.enrichment")
+public record LocationEnrichmentProperties(@DefaultValue("2") int workers,
+                                           @DefaultValue("1000") int queueCapacity,
+                                           @DefaultValue("20") int batchSize,
+                                           @DefaultValue("3") int maxAttempts,
+                                           @DefaultValue("500") long retryBackoffMs,
+                                           @DefaultValue("200") int sweepBatchSize,
+                                           @DefaultValue("60") long sweepMinAgeSec,
+                                           @DefaultValue("5000") long shutdownTimeoutMs) {
+}
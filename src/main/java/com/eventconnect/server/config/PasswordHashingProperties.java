@@ -0,0 +1,27 @@
+package com.eventconnect.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * BCrypt cost and concurrency limits (app.auth.bcrypt.*, app.auth.hashing.*), see BoundedPasswordEncoder.
+ */
+@ConfigurationProperties("app.auth")
+public record PasswordHashingProperties(@DefaultValue Bcrypt bcrypt, @DefaultValue Hashing hashing) {
+
+    /**
+     * @param strength BCrypt cost factor for new hashes; existing ones are rehashed at next login
+     */
+    public record Bcrypt(@DefaultValue("10") int strength) {
+    }
+
+    /**
+     * @param threads       hashes running at once; 0 means half the available cores
+     * @param queueCapacity requests allowed to wait for a turn before new ones are refused
+     * @param maxWaitMs     how long a request waits for a turn before it is refused
+     */
+    public record Hashing(@DefaultValue("0") int threads,
+                          @DefaultValue("100") int queueCapacity,
+                          @DefaultValue("3000") long maxWaitMs) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventconnect.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Cache of principals for JWT-authenticated requests (app.auth.principal-cache.*), see PrincipalCache.
+ *
+ * @param enabled look the user up on every request when false
+ * @param maxSize principals kept per node
+ * @param ttlSec  how long a principal is kept; bounds how late a missed eviction is noticed
+ */
+@ConfigurationProperties("app.auth.principal-cache")
+public record PrincipalCacheProperties(@DefaultValue("true") boolean enabled,
+                                       @DefaultValue("10000") int maxSize,
+                                       @DefaultValue("60") long ttlSec) {
+}
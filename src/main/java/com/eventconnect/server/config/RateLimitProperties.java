@@ -0,0 +1,40 @@
+package com.eventconnect.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user booking rate limit (app.rate-limit.*), shared by every RateLimiter backend.
+ *
+ * Both backends use GCRA tuned so that no more than maxBookings requests less than durationSec
+ * apart are ever accepted, the same cap as the sliding log they replaced: a user can book
+ * maxBookings at once, and after a full burst permits come back one per durationSec.
+ *
+ * @param maxBookings bookings accepted in any window of durationSec
+ * @param durationSec window length in seconds
+ * @param jdbc        settings of the shared "jdbc" backend
+ */
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(@DefaultValue("5") int maxBookings,
+                                  @DefaultValue("60") int durationSec,
+                                  @DefaultValue Jdbc jdbc) {
+
+    /**
+     * @param failOpen allow requests while the rate limit table can't be reached, rather than
+     *                 rejecting every booking
+     */
+    public record Jdbc(@DefaultValue("true") boolean failOpen) {
+    }
+
+    // GCRA emission interval: one permit per window
+    public long emissionIntervalNanos() {
+        return TimeUnit.SECONDS.toNanos(durationSec);
+    }
+
+    // A request is accepted while its theoretical arrival time stays within this of now
+    public long limitNanos() {
+        return maxBookings * emissionIntervalNanos();
+    }
+}
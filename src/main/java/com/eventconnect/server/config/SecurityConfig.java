@@ -26,6 +26,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        // Admin listing includes deleted events
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/events/admin/**").hasRole("ADMIN")
                         // Public: Everyone can SEE events
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/events/**").permitAll()
                         // Admin Only: Creating, Updating, Deleting events
@@ -3,20 +3,27 @@ package com.eventconnect.server.controller;
 import com.eventconnect.server.dto.AuthRequest;
 import com.eventconnect.server.dto.AuthResponse;
 import com.eventconnect.server.dto.RegisterRequest;
+import com.eventconnect.server.security.JwtKeySet;
 import com.eventconnect.server.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService service;
+    private final JwtKeySet keySet;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
@@ -37,4 +44,20 @@ public class AuthController {
     ) {
         return ResponseEntity.ok(service.refreshToken(request.getRefreshToken()));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestBody com.eventconnect.server.dto.RefreshTokenRequest request
+    ) {
+        service.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Public keys for verifying ES256 tokens locally; empty when tokens are signed with HS256
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(keySet.jwks());
+    }
+}
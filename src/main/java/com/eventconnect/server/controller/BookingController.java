@@ -29,11 +29,40 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.bookTickets(userDetails.getUsername(), request, httpRequest));
     }
 
+    // Reserve seats for app.booking.hold.ttl-sec, then confirm or release
+    @PostMapping("/holds")
+    public ResponseEntity<BookingResponseDto> holdSeats(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody BookingRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        return ResponseEntity.ok(bookingService.holdSeats(userDetails.getUsername(), request, httpRequest));
+    }
+
+    @PostMapping("/holds/{id}/confirm")
+    public ResponseEntity<BookingResponseDto> confirmHold(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(bookingService.confirmHold(id, userDetails.getUsername()));
+    }
+
+    @DeleteMapping("/holds/{id}")
+    public ResponseEntity<Void> releaseHold(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id
+    ) {
+        bookingService.releaseHold(id, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/my-bookings")
     public ResponseEntity<List<BookingResponseDto>> getMyBookings(
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit
     ) {
-        return ResponseEntity.ok(bookingService.getUserBookings(userDetails.getUsername()));
+        return ResponseEntity.ok(bookingService.getUserBookings(userDetails.getUsername(), afterId, limit));
     }
 
     @GetMapping("/{id}")
@@ -1,14 +1,20 @@
 package com.eventconnect.server.controller;
 
+import com.eventconnect.server.dto.EventCursorPage;
 import com.eventconnect.server.dto.EventDto;
+import com.eventconnect.server.dto.EventView;
 import com.eventconnect.server.entity.Event;
 import com.eventconnect.server.service.EventService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,16 +29,50 @@ public class EventController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "date") String sortBy,
-            @RequestParam(required = false) String keyword
+            @RequestParam(required = false) String keyword,
+            WebRequest request
     ) {
         // Sort ascending (nearest date first) usually makes sense
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, sortBy));
-        return ResponseEntity.ok(service.getAllEvents(keyword, pageRequest));
+        Map<String, Object> result = service.getAllEvents(keyword, pageRequest);
+        @SuppressWarnings("unchecked")
+        List<EventView> events = (List<EventView>) result.get("events");
+        return conditional(request, eTag(events, result.get("currentPage"), result.get("totalItems"), result.get("totalPages")), result);
+    }
+
+    // Cursor-based listing: pass nextCursor from the previous response to continue
+    @GetMapping("/cursor")
+    public ResponseEntity<EventCursorPage> getEventsAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "false") boolean includeCount,
+            WebRequest request
+    ) {
+        EventCursorPage result = service.getEventsAfter(keyword, cursor, pageSize(size), includeCount);
+        return conditional(request, eTag(result.getEvents(), result.getNextCursor(), result.getTotalItems()), result);
+    }
+
+    // Admin: all events including inactive ones
+    @GetMapping("/admin/cursor")
+    public ResponseEntity<EventCursorPage> getAllEventsForAdminAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount,
+            WebRequest request
+    ) {
+        EventCursorPage result = service.getAllEventsForAdminAfter(cursor, pageSize(size), includeCount);
+        return conditional(request, eTag(result.getEvents(), result.getNextCursor(), result.getTotalItems()), result);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getEventById(id));
+    public ResponseEntity<EventView> getEventById(@PathVariable Long id, WebRequest request) {
+        EventService.Revision revision = service.getEventRevision(id);
+        if (request.checkNotModified(revision.eTag(), revision.lastModified())) {
+            // 304 with ETag and Last-Modified already set
+            return null;
+        }
+        return ResponseEntity.ok(service.getEventById(id, revision));
     }
 
     @PostMapping
@@ -50,4 +90,31 @@ public class EventController {
         service.deleteEvent(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Listings only get an ETag: events can drop out of a listing (e.g. once they start) without
+    // any row changing, so there is no meaningful Last-Modified for them
+    private static <T> ResponseEntity<T> conditional(WebRequest request, String eTag, T body) {
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    // Hash of everything in a listing that can change; a cached event keeps its JSON for a given
+    // version, and seat counts are overlaid separately, so both are included
+    private static String eTag(List<EventView> events, Object... page) {
+        StringBuilder state = new StringBuilder();
+        for (EventView event : events) {
+            state.append(event.getId()).append(':').append(event.getVersion()).append(':')
+                    .append(event.getAvailableSeats()).append(';');
+        }
+        for (Object value : page) {
+            state.append(value).append(';');
+        }
+        return DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), 100);
+    }
 }
\ No newline at end of file
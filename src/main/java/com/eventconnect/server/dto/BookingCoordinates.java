@@ -0,0 +1,10 @@
+package com.eventconnect.server.dto;
+
+/**
+ * Id and raw coordinates of a booking whose place name hasn't been resolved yet.
+ */
+public interface BookingCoordinates {
+    Long getId();
+    Double getLatitude();
+    Double getLongitude();
+}
@@ -21,6 +21,7 @@ public class BookingResponseDto {
     private Double latitude;
     private Double longitude;
     private String location;
+    private LocalDateTime holdExpiresAt;
     
     // Audit fields
     private LocalDateTime createdAt;
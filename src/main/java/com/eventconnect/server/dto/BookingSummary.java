@@ -0,0 +1,25 @@
+package com.eventconnect.server.dto;
+
+import com.eventconnect.server.entity.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking and its event, loaded in one query for booking lists.
+ */
+public interface BookingSummary {
+    Long getBookingId();
+    String getEventTitle();
+    LocalDateTime getEventDate();
+    String getEventLocation();
+    Integer getTickets();
+    BigDecimal getTotalAmount();
+    BookingStatus getStatus();
+    LocalDateTime getBookingDate();
+    String getIpAddress();
+    Double getLatitude();
+    Double getLongitude();
+    String getLocation();
+    LocalDateTime getHoldExpiresAt();
+}
@@ -0,0 +1,16 @@
+package com.eventconnect.server.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class EventCursorPage {
+    private List<EventView> events;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+    // Only filled when includeCount=true
+    private Long totalItems;
+}
@@ -0,0 +1,13 @@
+package com.eventconnect.server.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version-only view of an event, used to answer conditional GETs without loading the entity.
+ */
+public interface EventRevision {
+    Long getVersion();
+    Integer getAvailableSeats();
+    LocalDateTime getModifiedAt();
+    Boolean getIsActive();
+}
@@ -0,0 +1,9 @@
+package com.eventconnect.server.dto;
+
+/**
+ * Current seat count of an event, used to refresh cached catalog entries.
+ */
+public interface EventSeats {
+    Long getId();
+    Integer getAvailableSeats();
+}
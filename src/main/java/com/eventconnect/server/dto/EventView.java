@@ -0,0 +1,56 @@
+package com.eventconnect.server.dto;
+
+import com.eventconnect.server.entity.Event;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of an event as served by the public catalog. Catalog caches share these between
+ * requests, which managed Event entities can't safely be. Serializes to the same JSON as Event.
+ */
+@Value
+@Builder
+public class EventView {
+    Long id;
+    String title;
+    String description;
+    LocalDateTime date;
+    String location;
+    String category;
+    BigDecimal ticketPrice;
+    Integer capacity;
+    @With
+    Integer availableSeats;
+    String imageUrl;
+    Long version;
+    LocalDateTime createdAt;
+    String createdBy;
+    LocalDateTime modifiedAt;
+    String modifiedBy;
+    Boolean isActive;
+
+    public static EventView of(Event event) {
+        return EventView.builder()
+                .id(event.getId())
+                .title(event.getTitle())
+                .description(event.getDescription())
+                .date(event.getDate())
+                .location(event.getLocation())
+                .category(event.getCategory())
+                .ticketPrice(event.getTicketPrice())
+                .capacity(event.getCapacity())
+                .availableSeats(event.getAvailableSeats())
+                .imageUrl(event.getImageUrl())
+                .version(event.getVersion())
+                .createdAt(event.getCreatedAt())
+                .createdBy(event.getCreatedBy())
+                .modifiedAt(event.getModifiedAt())
+                .modifiedBy(event.getModifiedBy())
+                .isActive(event.getIsActive())
+                .build();
+    }
+}
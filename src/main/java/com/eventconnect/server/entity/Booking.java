@@ -10,11 +10,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        // Keyset pagination of a user's bookings
+        @Index(name = "idx_booking_user_id_id", columnList = "user_id, id")
+})
 public class Booking extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("bookings_id_seq")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -46,4 +49,8 @@ public class Booking extends BaseEntity {
 
     @Column(name = "location", length = 255)
     private String location;
+
+    // Only set while status is PENDING (seat hold)
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.eventconnect.server.entity;
 
 public enum BookingStatus {
+    PENDING, // seats held until hold_expires_at, awaiting confirmation
     CONFIRMED,
     CANCELLED
 }
\ No newline at end of file
@@ -13,6 +13,8 @@ import java.math.BigDecimal;
 @Entity
 @Table(name = "events", indexes = {
         @Index(name = "idx_event_date", columnList = "date"),
+        // Keyset pagination
+        @Index(name = "idx_event_date_id", columnList = "date, id"),
         @Index(name = "idx_event_category", columnList = "category"),
         @Index(name = "idx_event_location", columnList = "location"),
         @Index(name = "idx_event_is_active", columnList = "is_active")
@@ -20,7 +22,7 @@ import java.math.BigDecimal;
 public class Event extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("events_id_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,22 @@
+package com.eventconnect.server.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates ids from a pooled database sequence, so inserts can be batched.
+ * The allocation size comes from the "app.id.allocation-size" Hibernate setting (default 50)
+ * and must match the sequence's INCREMENT BY.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+    /** Name of the database sequence. */
+    String value();
+}
@@ -18,7 +18,7 @@ import java.util.List;
 public class User extends BaseEntity implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("_user_id_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -1,17 +1,32 @@
 package com.eventconnect.server.repository;
 
+import com.eventconnect.server.dto.BookingCoordinates;
+import com.eventconnect.server.dto.BookingSummary;
 import com.eventconnect.server.entity.Booking;
 import com.eventconnect.server.entity.BookingStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserEmail(String email);
     
+    // A user's bookings newest first, one query with no entity loading; afterId continues a previous page
+    @Query("SELECT b.id AS bookingId, e.title AS eventTitle, e.date AS eventDate, e.location AS eventLocation, " +
+            "b.numberOfTickets AS tickets, e.ticketPrice * b.numberOfTickets AS totalAmount, b.status AS status, " +
+            "b.bookingDate AS bookingDate, b.ipAddress AS ipAddress, b.latitude AS latitude, " +
+            "b.longitude AS longitude, b.location AS location, b.holdExpiresAt AS holdExpiresAt " +
+            "FROM Booking b JOIN b.event e " +
+            "WHERE b.user.id = (SELECT u.id FROM User u WHERE u.email = :email) " +
+            "AND (:afterId IS NULL OR b.id < :afterId) " +
+            "ORDER BY b.id DESC")
+    List<BookingSummary> findSummariesByUserEmail(@Param("email") String email, @Param("afterId") Long afterId, Limit limit);
+    
     // Find all bookings for a specific event
     List<Booking> findByEventId(Long eventId);
     
@@ -23,4 +38,33 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Modifying
     @Query("UPDATE Booking b SET b.status = :status WHERE b.event.id = :eventId AND b.status != 'CANCELLED'")
     int cancelAllBookingsForEvent(@Param("eventId") Long eventId, @Param("status") BookingStatus status);
+    
+    // Set resolved place name once background geocoding finishes
+    @Modifying
+    @Query("UPDATE Booking b SET b.location = :location WHERE b.id = :id")
+    int updateLocation(@Param("id") Long id, @Param("location") String location);
+
+    // Confirmed bookings whose location was never resolved, e.g. dropped from a full queue or lost in a restart
+    @Query("SELECT b.id AS id, b.latitude AS latitude, b.longitude AS longitude FROM Booking b " +
+            "WHERE b.location IS NULL AND b.latitude IS NOT NULL AND b.longitude IS NOT NULL " +
+            "AND b.status = 'CONFIRMED' AND b.bookingDate < :before ORDER BY b.id")
+    List<BookingCoordinates> findUnresolvedLocations(@Param("before") LocalDateTime before, Limit limit);
+    
+    // Confirm a seat hold if it belongs to the user and hasn't expired
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CONFIRMED', b.holdExpiresAt = null " +
+            "WHERE b.id = :id AND b.status = 'PENDING' AND b.holdExpiresAt > :now " +
+            "AND b.user.id = (SELECT u.id FROM User u WHERE u.email = :email)")
+    int confirmHold(@Param("id") Long id, @Param("email") String email, @Param("now") LocalDateTime now);
+    
+    // Remove a seat hold; 0 means it was already confirmed, cancelled or released
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id = :id AND b.status = 'PENDING'")
+    int deleteHold(@Param("id") Long id);
+    
+    @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING'")
+    List<Booking> findPendingHolds();
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'PENDING' AND b.holdExpiresAt <= :now ORDER BY b.holdExpiresAt")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Limit limit);
 }
\ No newline at end of file
@@ -1,24 +1,104 @@
 package com.eventconnect.server.repository;
 
+import com.eventconnect.server.dto.EventRevision;
+import com.eventconnect.server.dto.EventSeats;
 import com.eventconnect.server.entity.Event;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    // Content-only searches; totals come from the catalog's count cache
     @Query("SELECT e FROM Event e WHERE " +
-            "e.isActive = true AND " + // Only active events
-            "e.date > :now AND " + // Only future events
+            "e.isActive = true AND " +
+            "e.date > :now AND " +
             "(:keyword IS NULL OR :keyword = '' OR " +
             "LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(e.location) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(e.category) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Event> searchEvents(@Param("keyword") String keyword, @Param("now") LocalDateTime now, Pageable pageable);
+    List<Event> searchEventsContent(@Param("keyword") String keyword, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Ranked full-text search (PostgreSQL only, see EventSearchIndex); :query is a prefix tsquery
+    @Query(value = "SELECT e.* FROM events e " +
+            "WHERE e.is_active = true AND e.date > :now " +
+            "AND e.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(e.search_vector, to_tsquery('simple', :query)) DESC, e.date ASC, e.id ASC",
+            nativeQuery = true)
+    List<Event> searchEventsFullTextContent(@Param("query") String query, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Keyset page of upcoming events ordered by (date, id), starting after the given position.
+    // The first page starts after (now, Long.MAX_VALUE). No OFFSET, so every page costs the same.
+    @Query("SELECT e FROM Event e WHERE " +
+            "e.isActive = true AND " +
+            "e.date > :now AND " +
+            "(:keyword IS NULL OR :keyword = '' OR " +
+            "LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(e.location) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(e.category) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+            "(e.date, e.id) > (:afterDate, :afterId) " +
+            "ORDER BY e.date ASC, e.id ASC")
+    List<Event> findUpcomingAfter(@Param("keyword") String keyword, @Param("now") LocalDateTime now,
+                                  @Param("afterDate") LocalDateTime afterDate, @Param("afterId") Long afterId,
+                                  Limit limit);
+
+    // Same as findUpcomingAfter, filtered by the full-text index (PostgreSQL only)
+    @Query(value = "SELECT e.* FROM events e " +
+            "WHERE e.is_active = true AND e.date > :now " +
+            "AND e.search_vector @@ to_tsquery('simple', :query) " +
+            "AND (e.date, e.id) > (:afterDate, :afterId) " +
+            "ORDER BY e.date ASC, e.id ASC LIMIT :limit",
+            nativeQuery = true)
+    List<Event> findUpcomingFullTextAfter(@Param("query") String query, @Param("now") LocalDateTime now,
+                                          @Param("afterDate") LocalDateTime afterDate, @Param("afterId") Long afterId,
+                                          @Param("limit") int limit);
+
+    @Query("SELECT COUNT(e) FROM Event e WHERE " +
+            "e.isActive = true AND " +
+            "e.date > :now AND " +
+            "(:keyword IS NULL OR :keyword = '' OR " +
+            "LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(e.location) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(e.category) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    long countUpcoming(@Param("keyword") String keyword, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT COUNT(*) FROM events e " +
+            "WHERE e.is_active = true AND e.date > :now " +
+            "AND e.search_vector @@ to_tsquery('simple', :query)",
+            nativeQuery = true)
+    long countUpcomingFullText(@Param("query") String query, @Param("now") LocalDateTime now);
+
+    // Keyset pages of all events for admins, ordered by (date, id)
+    @Query("SELECT e FROM Event e WHERE " +
+            "(:includeInactive = true OR e.isActive = true) " +
+            "ORDER BY e.date ASC, e.id ASC")
+    List<Event> findAllEventsFirst(@Param("includeInactive") boolean includeInactive, Limit limit);
+
+    @Query("SELECT e FROM Event e WHERE " +
+            "(:includeInactive = true OR e.isActive = true) AND " +
+            "(e.date, e.id) > (:afterDate, :afterId) " +
+            "ORDER BY e.date ASC, e.id ASC")
+    List<Event> findAllEventsAfter(@Param("includeInactive") boolean includeInactive,
+                                   @Param("afterDate") LocalDateTime afterDate, @Param("afterId") Long afterId,
+                                   Limit limit);
+
+    @Query("SELECT COUNT(e) FROM Event e WHERE (:includeInactive = true OR e.isActive = true)")
+    long countAllEvents(@Param("includeInactive") boolean includeInactive);
+
+    // Seat counts only, for refreshing cached events without reloading them
+    @Query("SELECT e.id AS id, e.availableSeats AS availableSeats FROM Event e WHERE e.id IN :ids")
+    List<EventSeats> findAvailableSeats(@Param("ids") Collection<Long> ids);
     
     boolean existsByTitleAndDateAndLocation(String title, LocalDateTime date, String location);
     
@@ -26,4 +106,52 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e WHERE " +
             "(:includeInactive = true OR e.isActive = true)")
     Page<Event> findAllEvents(@Param("includeInactive") boolean includeInactive, Pageable pageable);
+
+    // Validators for conditional GETs without loading the entity
+    @Query("SELECT e.version AS version, e.availableSeats AS availableSeats, e.modifiedAt AS modifiedAt, " +
+            "e.isActive AS isActive FROM Event e WHERE e.id = :id")
+    Optional<EventRevision> findRevisionById(@Param("id") Long id);
+
+    // Atomically take seats in one statement; 0 rows means deleted, past, or not enough seats left.
+    // Bumps the version so concurrent admin edits of a stale Event still fail optimistically, and
+    // modifiedAt so Last-Modified reflects seat changes.
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats - :tickets, e.version = e.version + 1, e.modifiedAt = :now " +
+            "WHERE e.id = :id AND e.isActive = true AND e.date > :now AND e.availableSeats >= :tickets")
+    int decrementAvailableSeats(@Param("id") Long id, @Param("tickets") int tickets, @Param("now") LocalDateTime now);
+
+    // Row-locked read used when moving an event's inventory in or out of memory
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    // Write-behind flush of seats sold from the in-memory inventory (negative values return seats)
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats - :sold, e.version = e.version + 1, " +
+            "e.modifiedAt = local datetime WHERE e.id = :id")
+    int applySoldSeats(@Param("id") Long id, @Param("sold") int sold);
+
+    // Upcoming events whose seat count disagrees with their confirmed bookings and open holds,
+    // skipping events another node holds in memory (see SeatInventoryEngine)
+    @Query(value = "SELECT e.id FROM events e " +
+            "WHERE e.is_active = true AND e.date > :now " +
+            "AND NOT EXISTS (SELECT 1 FROM seat_inventory_leases l WHERE l.event_id = e.id AND l.expires_at > :now) " +
+            "AND e.available_seats <> e.capacity - " +
+            "COALESCE((SELECT SUM(b.number_of_tickets) FROM bookings b WHERE b.event_id = e.id AND b.status IN ('CONFIRMED', 'PENDING')), 0)",
+            nativeQuery = true)
+    List<Long> findEventIdsToReconcile(@Param("now") LocalDateTime now);
+
+    // Recompute one event's available seats from its bookings. Call with the row locked by
+    // findByIdForUpdate: every booking write moves the row in the same transaction, so the sum
+    // then agrees with the row
+    @Modifying
+    @Query(value = "UPDATE events e SET available_seats = e.capacity - " +
+            "COALESCE((SELECT SUM(b.number_of_tickets) FROM bookings b WHERE b.event_id = e.id AND b.status IN ('CONFIRMED', 'PENDING')), 0), " +
+            "version = e.version + 1, modified_at = :now " +
+            "WHERE e.id = :id " +
+            "AND NOT EXISTS (SELECT 1 FROM seat_inventory_leases l WHERE l.event_id = e.id AND l.expires_at > :now) " +
+            "AND e.available_seats <> e.capacity - " +
+            "COALESCE((SELECT SUM(b.number_of_tickets) FROM bookings b WHERE b.event_id = e.id AND b.status IN ('CONFIRMED', 'PENDING')), 0)",
+            nativeQuery = true)
+    int reconcileAvailableSeats(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
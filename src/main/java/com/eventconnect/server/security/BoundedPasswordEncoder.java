@@ -0,0 +1,118 @@
+package com.eventconnect.server.security;
+
+import com.eventconnect.server.config.PasswordHashingProperties;
+import com.eventconnect.server.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt with a cap on concurrent hashes, so a burst of logins can't put every request thread on
+ * CPU and starve cheap endpoints. Hashing runs on the calling request thread: the auth endpoints
+ * are synchronous, so moving it to another pool would only add a hand-off while the request thread
+ * waits anyway. What is bounded is how many hash at once (app.auth.hashing.threads, half the cores
+ * by default), how many may wait for a turn (queue-capacity) and for how long (max-wait-ms);
+ * beyond that a request is refused with 503 instead of queuing without bound.
+ *
+ * Changing app.auth.bcrypt.strength takes effect for existing users at their next login:
+ * upgradeEncoding reports any hash with a different cost, and DaoAuthenticationProvider then
+ * rehashes the password it just verified.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder bcrypt;
+    private final int strength;
+    private final int queueCapacity;
+    private final long maxWaitMs;
+    private final int permits;
+    private final Semaphore running;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, new BCryptPasswordEncoder(properties.bcrypt().strength()));
+    }
+
+    // The hashing itself is replaceable so tests can hold a permit
+    BoundedPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry, PasswordEncoder bcrypt) {
+        PasswordHashingProperties.Hashing hashing = properties.hashing();
+        this.bcrypt = bcrypt;
+        this.strength = properties.bcrypt().strength();
+        this.queueCapacity = hashing.queueCapacity();
+        this.maxWaitMs = hashing.maxWaitMs();
+        this.permits = hashing.threads() > 0 ? hashing.threads() : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.running = new Semaphore(permits, true);
+
+        encodeTimer = Timer.builder("auth.hashing").tag("operation", "encode").register(meterRegistry);
+        matchesTimer = Timer.builder("auth.hashing").tag("operation", "matches").register(meterRegistry);
+        rejected = Counter.builder("auth.hashing.rejected").register(meterRegistry);
+        Gauge.builder("auth.hashing.queue", waiting, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("auth.hashing.active", running, semaphore -> permits - semaphore.availablePermits()).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> bcrypt.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> bcrypt.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T run(Supplier<T> hash, Timer timer) {
+        if (!running.tryAcquire()) {
+            awaitTurn();
+        }
+        try {
+            return timer.record(hash);
+        } finally {
+            running.release();
+        }
+    }
+
+    private void awaitTurn() {
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            throw busy();
+        }
+        try {
+            if (!running.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                throw busy();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        rejected.increment();
+        return new ServiceUnavailableException("Too many sign-in requests right now, please retry shortly");
+    }
+}
@@ -0,0 +1,174 @@
+package com.eventconnect.server.security;
+
+import com.eventconnect.server.config.JwtProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ES256 signing keys for app.jwt.algorithm=ES256, loaded from the directory app.jwt.keys.dir.
+ *
+ * Each key is a pair of PEM files named by its key id: {kid}.public.pem (X.509) and, while it may
+ * still sign, {kid}.private.pem (PKCS#8). Tokens are signed with app.jwt.keys.active-kid, or else
+ * the last key id in sort order that has a private key, and carry it in the kid header. Every
+ * public key verifies and is published at /api/v1/auth/jwks. To rotate, add a new pair; once the
+ * longest token lifetime has passed, delete the old private key and later its public key. The
+ * directory is re-read periodically, so none of this needs a restart.
+ *
+ *   openssl ecparam -name prime256v1 -genkey -noout | openssl pkcs8 -topk8 -nocrypt -out 2026-10.private.pem
+ *   openssl ec -in 2026-10.private.pem -pubout -out 2026-10.public.pem
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JwtKeySet {
+
+    public record SigningKey(String kid, PrivateKey privateKey) {
+    }
+
+    private record Loaded(Map<String, ECPublicKey> publicKeys, SigningKey signingKey) {
+    }
+
+    private static final String PUBLIC_SUFFIX = ".public.pem";
+    private static final String PRIVATE_SUFFIX = ".private.pem";
+
+    private final JwtProperties properties;
+
+    private volatile Loaded keys = new Loaded(Map.of(), null);
+
+    @PostConstruct
+    void init() throws IOException, GeneralSecurityException {
+        if (isAsymmetric()) {
+            // Fail startup rather than run without a usable key
+            keys = load();
+            log.info("Loaded {} JWT verification keys, signing with {}", keys.publicKeys().size(), keys.signingKey().kid());
+        }
+    }
+
+    public boolean isAsymmetric() {
+        return "ES256".equalsIgnoreCase(properties.algorithm());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.keys.reload-interval-ms:60000}")
+    public void reload() {
+        if (!isAsymmetric()) {
+            return;
+        }
+        try {
+            Loaded reloaded = load();
+            if (!reloaded.publicKeys().keySet().equals(keys.publicKeys().keySet())
+                    || !reloaded.signingKey().kid().equals(keys.signingKey().kid())) {
+                log.info("JWT keys changed: verifying with {}, signing with {}",
+                        reloaded.publicKeys().keySet(), reloaded.signingKey().kid());
+            }
+            keys = reloaded;
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.error("Keeping previous JWT keys, failed to reload {}: {}", properties.keys().dir(), e.getMessage());
+        }
+    }
+
+    public SigningKey signingKey() {
+        return keys.signingKey();
+    }
+
+    // Null for unknown or retired key ids
+    public PublicKey publicKey(String kid) {
+        return keys.publicKeys().get(kid);
+    }
+
+    /**
+     * Public keys as a JWK Set (RFC 7517), for services that verify tokens themselves.
+     */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        keys.publicKeys().forEach((kid, key) -> {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("kid", kid);
+            jwk.put("x", coordinate(key.getW().getAffineX()));
+            jwk.put("y", coordinate(key.getW().getAffineY()));
+            jwks.add(jwk);
+        });
+        return Map.of("keys", jwks);
+    }
+
+    private Loaded load() throws IOException, GeneralSecurityException {
+        String dir = properties.keys().dir();
+        if (dir.isBlank()) {
+            throw new IllegalStateException("app.jwt.keys.dir must be set for ES256");
+        }
+        KeyFactory factory = KeyFactory.getInstance("EC");
+        Map<String, ECPublicKey> publicKeys = new TreeMap<>();
+        Map<String, PrivateKey> privateKeys = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(dir), "*.pem")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PUBLIC_SUFFIX)) {
+                    PublicKey key = factory.generatePublic(new X509EncodedKeySpec(pem(file)));
+                    if (key instanceof ECPublicKey ec && ec.getParams().getCurve().getField().getFieldSize() == 256) {
+                        publicKeys.put(name.substring(0, name.length() - PUBLIC_SUFFIX.length()), ec);
+                    } else {
+                        log.warn("Ignoring {}: ES256 needs a P-256 key", name);
+                    }
+                } else if (name.endsWith(PRIVATE_SUFFIX)) {
+                    privateKeys.put(name.substring(0, name.length() - PRIVATE_SUFFIX.length()),
+                            factory.generatePrivate(new PKCS8EncodedKeySpec(pem(file))));
+                }
+            }
+        }
+
+        String kid = properties.keys().activeKid().isBlank() ? null : properties.keys().activeKid();
+        if (kid == null) {
+            for (String candidate : privateKeys.keySet()) {
+                if (publicKeys.containsKey(candidate)) {
+                    kid = candidate;
+                }
+            }
+        }
+        if (kid == null || !privateKeys.containsKey(kid) || !publicKeys.containsKey(kid)
+                || !(privateKeys.get(kid) instanceof ECPrivateKey)) {
+            throw new IllegalStateException("No complete ES256 key pair" + (kid == null ? "" : " for kid " + kid) + " in " + dir);
+        }
+        return new Loaded(Collections.unmodifiableMap(publicKeys), new SigningKey(kid, privateKeys.get(kid)));
+    }
+
+    private static byte[] pem(Path file) throws IOException {
+        String base64 = Files.readString(file).replaceAll("-----(BEGIN|END) [A-Z ]+-----", "");
+        return Base64.getMimeDecoder().decode(base64);
+    }
+
+    // Unsigned big-endian, left-padded to the 32-byte P-256 field size
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, padded, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+}
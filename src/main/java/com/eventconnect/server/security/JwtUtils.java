@@ -1,80 +1,175 @@
 package com.eventconnect.server.security;
 
+import com.eventconnect.server.cache.CacheMetrics;
+import com.eventconnect.server.cache.TtlCache;
+import com.eventconnect.server.config.JwtProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
-
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once at startup; a token is
+ * parsed and verified once, and the result is kept in a small cache keyed by the token's
+ * SHA-256 so repeat requests with the same token skip verification entirely.
+ *
+ * Tokens are signed with the HS256 secret by default, or with ES256 and a kid header when
+ * app.jwt.algorithm=ES256 (see JwtKeySet). In ES256 mode, HS256 tokens without a kid are still
+ * accepted while app.jwt.secret is set, so sessions survive the switch; unset it to stop.
+ */
 @Service
+@RequiredArgsConstructor
 public class JwtUtils {
 
-    @Value("${app.jwt.secret}")
-    private String secretKey;
-
-    @Value("${app.jwt.expiration-ms}")
-    private long jwtExpiration;
-
-    @Value("${app.jwt.refresh-expiration-ms}")
-    private long refreshExpiration;
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    private static final String ROLE_CLAIM = "role";
+    static final String TYPE_CLAIM = "typ";
+    static final String FAMILY_CLAIM = "fam";
+    static final String REFRESH_TYPE = "refresh";
+
+    private final MeterRegistry meterRegistry;
+    private final JwtKeySet keySet;
+    private final JwtProperties properties;
+
+    private Key hmacKey;
+    private JwtParser parser;
+    private TtlCache<String, VerifiedToken> verified;
+
+    @PostConstruct
+    void init() {
+        hmacKey = properties.secret().isBlank() ? null : Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.secret()));
+        if (hmacKey == null && !keySet.isAsymmetric()) {
+            throw new IllegalStateException("app.jwt.secret must be set for HS256");
+        }
+        // JwtParser is immutable and thread-safe once built; the resolver sees key rotations
+        parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return verificationKey(header);
+            }
+        }).build();
+        verified = new TtlCache<>(properties.verifiedCache().maxSize(),
+                Duration.ofSeconds(properties.verifiedCache().ttlSec()));
+        CacheMetrics.bind(meterRegistry, "auth.verifiedTokens", verified);
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String generateToken(UserDetails userDetails) {
+        return buildToken(roleClaims(userDetails), userDetails, properties.expirationMs());
     }
 
-    public String generateToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, jwtExpiration);
+    // Refresh tokens name their family and carry their own id (jti) so they can be rotated and revoked
+    public String generateRefreshToken(UserDetails userDetails, UUID familyId, UUID tokenId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TYPE_CLAIM, REFRESH_TYPE);
+        claims.put(FAMILY_CLAIM, familyId.toString());
+        claims.put(Claims.ID, tokenId.toString());
+        return buildToken(claims, userDetails, properties.refreshExpirationMs());
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+    private static Map<String, Object> roleClaims(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .findFirst()
+                .ifPresent(authority -> claims.put(ROLE_CLAIM, authority.substring("ROLE_".length())));
+        return claims;
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
-                .compact();
-    }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+                .setExpiration(new Date(System.currentTimeMillis() + expiration));
+        if (keySet.isAsymmetric()) {
+            JwtKeySet.SigningKey key = keySet.signingKey();
+            return builder.setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                    .signWith(key.privateKey(), SignatureAlgorithm.ES256)
+                    .compact();
+        }
+        return builder.signWith(hmacKey, SignatureAlgorithm.HS256).compact();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // The parser rejects an HS256 header paired with a public key, so algorithm confusion can't
+    // turn a published key into an HMAC secret
+    private Key verificationKey(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        if (kid != null) {
+            Key key = keySet.publicKey(kid);
+            if (key == null || !SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("Unknown signing key " + kid);
+            }
+            return key;
+        }
+        if (hmacKey == null) {
+            throw new UnsupportedJwtException("HS256 tokens are not accepted");
+        }
+        return hmacKey;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Checks signature and expiry in a single parse. Empty if the token is malformed, forged or expired.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verified.get(key);
+        if (cached != null) {
+            // A retired key revokes what it signed, including tokens verified before the reload
+            if (cached.kid() != null && keySet.publicKey(cached.kid()) == null) {
+                verified.invalidate(key);
+                return Optional.empty();
+            }
+            return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+        }
+
+        VerifiedToken result;
+        try {
+            Jws<Claims> jws = parser.parseClaimsJws(token);
+            Claims claims = jws.getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            result = new VerifiedToken(claims.getSubject(), claims.get(ROLE_CLAIM, String.class),
+                    claims.getExpiration().toInstant(), claims, jws.getHeader().getKeyId());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        // Never cached beyond the token's own expiry
+        Duration remaining = Duration.between(Instant.now(), result.expiresAt());
+        if (remaining.compareTo(Duration.ofSeconds(properties.verifiedCache().ttlSec())) < 0) {
+            verified.put(key, result, remaining);
+        } else {
+            verified.put(key, result);
+        }
+        return Optional.of(result);
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Keyed by digest so the cache doesn't hold bearer tokens themselves
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
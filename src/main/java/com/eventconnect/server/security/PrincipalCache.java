@@ -0,0 +1,101 @@
+package com.eventconnect.server.security;
+
+import com.eventconnect.server.cache.CacheMetrics;
+import com.eventconnect.server.cache.EntityChange;
+import com.eventconnect.server.cache.InvalidationBus;
+import com.eventconnect.server.cache.TtlCache;
+import com.eventconnect.server.config.PrincipalCacheProperties;
+import com.eventconnect.server.entity.User;
+import com.eventconnect.server.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Principals for JWT-authenticated requests, cached by token subject (email) so steady-state
+ * traffic doesn't look the user up on every call. Entries hold only the username and
+ * authorities, never the password hash. Profile and password changes evict the user here and,
+ * through the InvalidationBus, on other nodes; the short TTL bounds anything missed.
+ */
+@Service
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private static final String ENTITY = "user";
+
+    private record CachedPrincipal(Long userId, UserDetails details) {
+    }
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final InvalidationBus invalidationBus;
+    private final PrincipalCacheProperties properties;
+
+    private TtlCache<String, CachedPrincipal> principals;
+
+    @PostConstruct
+    void initCache() {
+        principals = new TtlCache<>(properties.maxSize(), Duration.ofSeconds(properties.ttlSec()));
+        CacheMetrics.bind(meterRegistry, "auth.principals", principals);
+        invalidationBus.subscribe(ENTITY, this::apply);
+    }
+
+    public UserDetails get(String subject) {
+        boolean enabled = properties.enabled();
+        CachedPrincipal principal = enabled ? principals.get(subject) : null;
+        if (principal == null) {
+            long generation = principals.generation();
+            User user = userRepository.findByEmail(subject)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            principal = new CachedPrincipal(user.getId(), principal(user.getEmail(), user.getRole().name()));
+            if (enabled) {
+                // Not if the user was evicted while loading
+                principals.putIfUnchanged(subject, principal, generation);
+            }
+        }
+        return principal.details();
+    }
+
+    // Principal built from token claims alone, for app.auth.principal-from-claims=true
+    public static UserDetails principal(String subject, String role) {
+        return new org.springframework.security.core.userdetails.User(subject, "",
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    /**
+     * Evicts the user now and again after commit, then tells other nodes. Entries are matched by
+     * user id, so an email change also drops the entry under the old address.
+     */
+    public void evict(Long userId) {
+        EntityChange change = new EntityChange(ENTITY, userId, List.of());
+        apply(change);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                    invalidationBus.publish(change);
+                }
+            });
+        } else {
+            invalidationBus.publish(change);
+        }
+    }
+
+    private void apply(EntityChange change) {
+        if (change.id() == null) {
+            principals.invalidateAll();
+            return;
+        }
+        principals.invalidateIf((subject, principal) -> change.id().equals(principal.userId()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.eventconnect.server.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * A JWT whose signature and expiry have been checked. Treat the claims as read-only: the same
+ * instance is shared by every request presenting the token while it stays in the cache.
+ *
+ * @param role role claim, or null for tokens issued before it was added
+ * @param kid id of the key that signed it, or null for HS256 tokens
+ */
+public record VerifiedToken(String subject, String role, Instant expiresAt, Claims claims, String kid) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+
+    public boolean isRefreshToken() {
+        return JwtUtils.REFRESH_TYPE.equals(claims.get(JwtUtils.TYPE_CLAIM, String.class));
+    }
+
+    public String tokenId() {
+        return claims.getId();
+    }
+
+    public String familyId() {
+        return claims.get(JwtUtils.FAMILY_CLAIM, String.class);
+    }
+}
@@ -5,11 +5,15 @@ import com.eventconnect.server.dto.AuthResponse;
 import com.eventconnect.server.dto.RegisterRequest;
 import com.eventconnect.server.entity.Role;
 import com.eventconnect.server.entity.User;
+import com.eventconnect.server.exception.BadRequestException;
 import com.eventconnect.server.repository.UserRepository;
 import com.eventconnect.server.security.JwtUtils;
+import com.eventconnect.server.security.PrincipalCache;
+import com.eventconnect.server.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -21,6 +25,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PrincipalCache principalCache;
 
     public AuthResponse register(RegisterRequest request) {
         var user = User.builder()
@@ -33,7 +39,7 @@ public class AuthService {
         repository.save(user);
 
         var accessToken = jwtUtils.generateToken(user);
-        var refreshToken = jwtUtils.generateRefreshToken(user);
+        var refreshToken = refreshTokenStore.issue(user, user.getId());
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
@@ -54,7 +60,7 @@ public class AuthService {
                 .orElseThrow();
 
         var accessToken = jwtUtils.generateToken(user);
-        var refreshToken = jwtUtils.generateRefreshToken(user);
+        var refreshToken = refreshTokenStore.issue(user, user.getId());
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
@@ -63,21 +69,25 @@ public class AuthService {
                 .build();
     }
 
+    // Rotates the refresh token: the presented one stops working and a new one is returned
     public AuthResponse refreshToken(String refreshToken) {
-        String userEmail = jwtUtils.extractUsername(refreshToken);
-        if (userEmail != null) {
-            var user = repository.findByEmail(userEmail).orElseThrow();
-            if (jwtUtils.isTokenValid(refreshToken, user)) {
-                var accessToken = jwtUtils.generateToken(user);
-                // We typically return the same refresh token or rotate it. 
-                // For simplicity, let's return the simplified response with the new access token.
-                return AuthResponse.builder()
-                        .accessToken(accessToken)
-                        .refreshToken(refreshToken)
-                        .role(user.getRole().name())
-                        .build();
-            }
-        }
-        throw new RuntimeException("Invalid refresh token");
+        VerifiedToken token = jwtUtils.verify(refreshToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .orElseThrow(() -> new BadRequestException("Invalid refresh token"));
+        UserDetails user = principalCache.get(token.subject());
+        String rotated = refreshTokenStore.rotate(token, user);
+
+        return AuthResponse.builder()
+                .accessToken(jwtUtils.generateToken(user))
+                .refreshToken(rotated)
+                .role(user.getAuthorities().iterator().next().getAuthority().substring("ROLE_".length()))
+                .build();
+    }
+
+    // Revokes the session the refresh token belongs to; unknown or invalid tokens are ignored
+    public void logout(String refreshToken) {
+        jwtUtils.verify(refreshToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .ifPresent(refreshTokenStore::revoke);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,254 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.config.LocationEnrichmentProperties;
+import com.eventconnect.server.dto.BookingCoordinates;
+import com.eventconnect.server.entity.Booking;
+import com.eventconnect.server.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills Booking.location in the background so the booking transaction never waits on a geocoding round trip.
+ * Bookings are committed with raw coordinates, then resolved by a small worker pool in batches with retry.
+ * The queue is only an accelerator: bookings dropped from a full queue, or still queued or awaiting a
+ * retry when the node stops, keep a null location and are picked up again by a periodic sweep.
+ * Shutdown drains the queue first, up to a timeout.
+ */
+@Slf4j
+@Service
+public class BookingLocationEnricher {
+
+    private final ReverseGeocoder geocoder;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final LocationEnrichmentProperties properties;
+
+    private BlockingQueue<Task> queue;
+    // Booking ids queued or awaiting a retry, so the sweep doesn't queue them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private Counter dropped;
+    private ExecutorService workerPool;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean stopping;
+
+    public BookingLocationEnricher(ReverseGeocoder geocoder,
+                                   BookingRepository bookingRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   LocationEnrichmentProperties properties) {
+        this.geocoder = geocoder;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        workerPool = Executors.newFixedThreadPool(properties.workers(), namedThreads("geo-enrich-"));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("geo-enrich-retry-"));
+        for (int i = 0; i < properties.workers(); i++) {
+            workerPool.execute(this::runWorker);
+        }
+        Gauge.builder("booking.location.queue", queue, BlockingQueue::size).register(meterRegistry);
+        dropped = Counter.builder("booking.location.dropped")
+                .description("Bookings not queued for geocoding because the queue was full; the sweep resolves them later")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stops taking new work and lets the workers finish what is queued. Pending retries and
+     * anything left after the timeout are resolved by the sweep on the next start.
+     */
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        retryScheduler.shutdownNow();
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(properties.shutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                log.warn("Location enrichment stopped with {} bookings queued; the sweep will resolve them", queue.size());
+                workerPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues the booking once the surrounding transaction commits, or right away if there is none.
+     */
+    public void enrichAfterCommit(Booking booking) {
+        if (booking.getLatitude() == null || booking.getLongitude() == null) {
+            return;
+        }
+        Task task = new Task(booking.getId(), booking.getLatitude(), booking.getLongitude(), 1);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(task);
+                }
+            });
+        } else {
+            enqueue(task);
+        }
+    }
+
+    /**
+     * Re-queues confirmed bookings that still have no location, oldest first, as long as the queue
+     * has room. Recent bookings are skipped since they are most likely still on their way through.
+     */
+    @Scheduled(fixedDelayString = "${app.geocoding.enrichment.sweep-interval-ms:60000}")
+    public void sweepUnresolved() {
+        if (stopping) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusSeconds(properties.sweepMinAgeSec());
+        int requeued = 0;
+        for (BookingCoordinates booking : bookingRepository.findUnresolvedLocations(before, Limit.of(properties.sweepBatchSize()))) {
+            if (inFlight.contains(booking.getId())) {
+                continue;
+            }
+            if (queue.remainingCapacity() == 0) {
+                break;
+            }
+            if (offer(new Task(booking.getId(), booking.getLatitude(), booking.getLongitude(), 1))) {
+                requeued++;
+            }
+        }
+        if (requeued > 0) {
+            log.info("Re-queued {} bookings with unresolved locations", requeued);
+        }
+    }
+
+    private void enqueue(Task task) {
+        if (!offer(task)) {
+            // Booking stays valid without a place name; better to drop than to block request threads
+            dropped.increment();
+            log.warn("Location enrichment queue full, leaving booking {} to the sweep", task.bookingId());
+        }
+    }
+
+    private boolean offer(Task task) {
+        if (stopping) {
+            return false;
+        }
+        inFlight.add(task.bookingId());
+        if (queue.offer(task)) {
+            return true;
+        }
+        inFlight.remove(task.bookingId());
+        return false;
+    }
+
+    // Exits once stopping and the queue is empty
+    private void runWorker() {
+        List<Task> batch = new ArrayList<>(properties.batchSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Task first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (stopping) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.batchSize() - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Left for the sweep
+                batch.forEach(task -> inFlight.remove(task.bookingId()));
+                log.error("Location enrichment batch failed: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void processBatch(List<Task> batch) {
+        Map<Long, String> resolved = new LinkedHashMap<>();
+        // Bookings for the same event tend to share coordinates, so resolve each point once per batch
+        Map<String, Optional<String>> lookups = new HashMap<>();
+
+        for (Task task : batch) {
+            Optional<String> location = lookups.computeIfAbsent(
+                    task.latitude() + "," + task.longitude(),
+                    k -> geocoder.reverseGeocode(task.latitude(), task.longitude()));
+
+            if (location.isPresent()) {
+                resolved.put(task.bookingId(), location.get());
+            } else if (task.attempt() < properties.maxAttempts()) {
+                scheduleRetry(task);
+            } else {
+                resolved.put(task.bookingId(), LocationService.formatCoordinates(task.latitude(), task.longitude()));
+            }
+        }
+
+        if (!resolved.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    resolved.forEach(bookingRepository::updateLocation));
+            log.debug("Enriched location for {} bookings", resolved.size());
+        }
+        resolved.keySet().forEach(inFlight::remove);
+    }
+
+    private void scheduleRetry(Task task) {
+        if (stopping) {
+            inFlight.remove(task.bookingId());
+            return;
+        }
+        long delay = properties.retryBackoffMs() << (task.attempt() - 1);
+        Task next = new Task(task.bookingId(), task.latitude(), task.longitude(), task.attempt() + 1);
+        // Stays in flight until the retry is queued
+        retryScheduler.schedule(() -> enqueue(next), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Task(Long bookingId, double latitude, double longitude, int attempt) {
+    }
+}
@@ -2,9 +2,9 @@ package com.eventconnect.server.service;
 
 import com.eventconnect.server.dto.BookingRequest;
 import com.eventconnect.server.dto.BookingResponseDto;
+import com.eventconnect.server.dto.BookingSummary;
 import com.eventconnect.server.entity.Booking;
 import com.eventconnect.server.entity.BookingStatus;
-import com.eventconnect.server.entity.Event;
 import com.eventconnect.server.entity.User;
 import com.eventconnect.server.exception.BadRequestException;
 import com.eventconnect.server.exception.ResourceNotFoundException;
@@ -12,6 +12,8 @@ import com.eventconnect.server.repository.BookingRepository;
 import com.eventconnect.server.repository.EventRepository;
 import com.eventconnect.server.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,10 +32,60 @@ public class BookingService {
     private final UserRepository userRepository;
     private final RateLimiterService rateLimiterService;
     private final LocationService locationService;
+    private final BookingLocationEnricher locationEnricher;
+    private final BookingWriter bookingWriter;
+    private final SeatHoldReaper seatHoldReaper;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Value("${app.booking.hold.ttl-sec:300}")
+    private long holdTtlSeconds;
 
     // --- Create Booking ---
-    @Transactional
+    // Not transactional: the booking is committed by BookingWriter, possibly alongside others
     public BookingResponseDto bookTickets(String userEmail, BookingRequest request, HttpServletRequest httpRequest) {
+        Booking savedBooking = createBooking(userEmail, request, httpRequest, BookingStatus.CONFIRMED, null);
+
+        // 6. Return DTO (Not Entity)
+        return mapToDto(savedBooking);
+    }
+
+    // --- Seat Holds ---
+    // Seats are taken now and stay PENDING until confirmed, released or expired by the reaper
+    public BookingResponseDto holdSeats(String userEmail, BookingRequest request, HttpServletRequest httpRequest) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(holdTtlSeconds);
+        Booking hold = createBooking(userEmail, request, httpRequest, BookingStatus.PENDING, expiresAt);
+        seatHoldReaper.schedule(hold.getId(), expiresAt);
+        return mapToDto(hold);
+    }
+
+    @Transactional
+    public BookingResponseDto confirmHold(Long holdId, String userEmail) {
+        if (bookingRepository.confirmHold(holdId, userEmail, LocalDateTime.now()) == 0) {
+            Booking hold = findOwnedBooking(holdId, userEmail);
+            if (hold.getStatus() != BookingStatus.PENDING) {
+                throw new BadRequestException("Booking is not an open seat hold.");
+            }
+            throw new BadRequestException("Seat hold has expired.");
+        }
+        Booking booking = bookingRepository.findById(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        locationEnricher.enrichAfterCommit(booking);
+        return mapToDto(booking);
+    }
+
+    // Transactional so the ownership check doesn't depend on open-in-view
+    @Transactional
+    public void releaseHold(Long holdId, String userEmail) {
+        Booking hold = findOwnedBooking(holdId, userEmail);
+        if (hold.getStatus() != BookingStatus.PENDING) {
+            throw new BadRequestException("Booking is not an open seat hold.");
+        }
+        seatHoldReaper.release(holdId);
+    }
+
+    private Booking createBooking(String userEmail, BookingRequest request, HttpServletRequest httpRequest,
+                                  BookingStatus status, LocalDateTime holdExpiresAt) {
         // 1. Extract IP
         String clientIp = locationService.extractClientIp(httpRequest);
 
@@ -53,53 +105,26 @@ public class BookingService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        Event event = eventRepository.findById(request.getEventId())
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
-
-        if (event.getDate().isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("Cannot book tickets for a past event.");
-        }
-        if (event.getAvailableSeats() < request.getTickets()) {
-            throw new BadRequestException("Not enough seats available. Only " + event.getAvailableSeats() + " left.");
-        }
-
-        // 4. Update Inventory
-        event.setAvailableSeats(event.getAvailableSeats() - request.getTickets());
-        eventRepository.save(event);
-
-        // 5. Get location name from coordinates using reverse geocoding
-        String locationName = locationService.getLocationFromCoordinates(
-            request.getLatitude(), 
-            request.getLongitude()
-        );
-
-        // 6. Save Booking with IP, coordinates, and location name
-        Booking booking = Booking.builder()
-                .user(user)
-                .event(event)
-                .bookingDate(LocalDateTime.now())
-                .numberOfTickets(request.getTickets())
-                .status(BookingStatus.CONFIRMED)
-                .ipAddress(clientIp)
-                .latitude(request.getLatitude())
-                .longitude(request.getLongitude())
-                .location(locationName)
-                .build();
-
-        Booking savedBooking = bookingRepository.save(booking);
-
-        // 6. Return DTO (Not Entity)
-        return mapToDto(savedBooking);
+        // 4-5. Take seats and save with IP and raw coordinates (location name is resolved after commit)
+        return bookingWriter.write(new BookingWriter.BookingCommand(
+                user, request.getEventId(), request.getTickets(), clientIp,
+                request.getLatitude(), request.getLongitude(), status, holdExpiresAt));
     }
 
-    //Get My Bookings
-    public List<BookingResponseDto> getUserBookings(String userEmail) {
-        List<Booking> bookings = bookingRepository.findByUserEmail(userEmail);
-        return bookings.stream().map(this::mapToDto).collect(Collectors.toList());
+    //Get My Bookings (newest first; pass the last bookingId of a page as afterId for the next one)
+    public List<BookingResponseDto> getUserBookings(String userEmail, Long afterId, Integer limit) {
+        Limit pageLimit = limit == null ? Limit.unlimited() : Limit.of(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        return bookingRepository.findSummariesByUserEmail(userEmail, afterId, pageLimit).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
     }
 
     //Get Booking By ID
     public BookingResponseDto getBookingById(Long bookingId, String userEmail) {
+        return mapToDto(findOwnedBooking(bookingId, userEmail));
+    }
+
+    private Booking findOwnedBooking(Long bookingId, String userEmail) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
 
@@ -107,8 +132,25 @@ public class BookingService {
         if (!booking.getUser().getEmail().equals(userEmail)) {
             throw new BadRequestException("You are not authorized to view this booking.");
         }
+        return booking;
+    }
 
-        return mapToDto(booking);
+    private BookingResponseDto mapToDto(BookingSummary summary) {
+        return BookingResponseDto.builder()
+                .bookingId(summary.getBookingId())
+                .eventTitle(summary.getEventTitle())
+                .eventDate(summary.getEventDate())
+                .eventLocation(summary.getEventLocation())
+                .tickets(summary.getTickets())
+                .totalAmount(summary.getTotalAmount())
+                .status(summary.getStatus())
+                .bookingDate(summary.getBookingDate())
+                .ipAddress(summary.getIpAddress())
+                .latitude(summary.getLatitude())
+                .longitude(summary.getLongitude())
+                .location(summary.getLocation())
+                .holdExpiresAt(summary.getHoldExpiresAt())
+                .build();
     }
 
     // Helper to convert Entity -> DTO
@@ -127,6 +169,7 @@ public class BookingService {
                 .latitude(booking.getLatitude())
                 .longitude(booking.getLongitude())
                 .location(booking.getLocation())
+                .holdExpiresAt(booking.getHoldExpiresAt())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,330 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.entity.Booking;
+import com.eventconnect.server.entity.BookingStatus;
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.entity.User;
+import com.eventconnect.server.exception.BadRequestException;
+import com.eventconnect.server.exception.ResourceNotFoundException;
+import com.eventconnect.server.exception.ServiceUnavailableException;
+import com.eventconnect.server.repository.BookingRepository;
+import com.eventconnect.server.repository.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes bookings with group commit.
+ *
+ * Concurrent booking requests are collected for a few milliseconds and applied in a single
+ * transaction: seats are taken with one conditional UPDATE per event for the whole group, the
+ * bookings are inserted together, and everything commits once. If an event can't cover the whole
+ * group, its requests fall back to one decrement each in arrival order, so a sold-out request only
+ * fails itself. Each caller gets its own booking or error.
+ */
+@Slf4j
+@Service
+public class BookingWriter {
+
+    public record BookingCommand(User user, Long eventId, int tickets, String clientIp,
+                                 Double latitude, Double longitude,
+                                 BookingStatus status, LocalDateTime holdExpiresAt) {
+    }
+
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final SeatInventoryEngine seatInventory;
+    private final BookingLocationEnricher locationEnricher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // false writes each booking in its own transaction on the caller's thread
+    @Value("${app.booking.group-commit.enabled:true}")
+    private boolean enabled;
+
+    // How long the first request of a group waits for others to join
+    @Value("${app.booking.group-commit.window-ms:2}")
+    private long windowMs;
+
+    @Value("${app.booking.group-commit.max-batch:200}")
+    private int maxBatch;
+
+    // Writers run in parallel so one group can commit while the next is collected
+    @Value("${app.booking.group-commit.writers:2}")
+    private int writers;
+
+    // Longest a caller waits for its group to commit before giving up with a 503
+    @Value("${app.booking.group-commit.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private final BlockingQueue<PendingBooking> queue = new LinkedBlockingQueue<>();
+    private ExecutorService writerPool;
+    private volatile boolean stopped;
+
+    public BookingWriter(BookingRepository bookingRepository,
+                         EventRepository eventRepository,
+                         SeatInventoryEngine seatInventory,
+                         BookingLocationEnricher locationEnricher,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.seatInventory = seatInventory;
+        this.locationEnricher = locationEnricher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        writerPool = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable, "booking-writer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writers; i++) {
+            writerPool.execute(this::runWriter);
+        }
+        Gauge.builder("booking.writer.queue", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        if (writerPool != null) {
+            writerPool.shutdownNow();
+        }
+        // Groups already taken by a writer complete themselves; nobody will pick up the rest
+        List<PendingBooking> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+                new ServiceUnavailableException("Server is shutting down, please try again")));
+    }
+
+    /**
+     * Takes seats and saves the booking, returning once it is committed.
+     */
+    public Booking write(BookingCommand command) {
+        PendingBooking pending = new PendingBooking(command, SecurityContextHolder.getContext(), new CompletableFuture<>());
+        if (!enabled) {
+            process(List.of(pending));
+        } else if (stopped) {
+            throw new ServiceUnavailableException("Server is shutting down, please try again");
+        } else {
+            queue.add(pending);
+        }
+        try {
+            return pending.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued means it will never be written; otherwise its group may yet commit
+            if (queue.remove(pending)) {
+                throw new ServiceUnavailableException("Booking service is busy, please try again");
+            }
+            throw new ServiceUnavailableException("Booking is taking longer than expected; check your bookings before retrying");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Booking was interrupted, please try again");
+        }
+    }
+
+    /**
+     * Explains why seats couldn't be taken for an event, using its state after the attempt.
+     */
+    BadRequestException rejection(Event event, LocalDateTime now) {
+        if (!event.getIsActive()) {
+            return new BadRequestException("Event has been cancelled or deleted");
+        }
+        if (!event.getDate().isAfter(now)) {
+            return new BadRequestException("Cannot book tickets for a past event.");
+        }
+        int seatsLeft = seatInventory.availableSeats(event.getId()).orElse(event.getAvailableSeats());
+        return new BadRequestException("Not enough seats available. Only " + seatsLeft + " left.");
+    }
+
+    private void runWriter() {
+        List<PendingBooking> batch = new ArrayList<>(maxBatch);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingBooking next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // process() completes every future itself; this only guards the loop
+                log.error("Booking writer failed: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<PendingBooking> batch) {
+        Map<PendingBooking, Object> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> applyBatch(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // One bad request shouldn't fail its neighbours: retry each in its own transaction
+            log.warn("Group commit of {} bookings failed, retrying individually: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> process(List.of(pending)));
+            return;
+        }
+
+        outcomes.forEach((pending, outcome) -> {
+            if (outcome instanceof Booking booking) {
+                pending.result().complete(booking);
+            } else {
+                pending.result().completeExceptionally((RuntimeException) outcome);
+            }
+        });
+    }
+
+    // Runs inside one transaction; returns a Booking or a RuntimeException for every request
+    private Map<PendingBooking, Object> applyBatch(List<PendingBooking> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<PendingBooking, Object> outcomes = new IdentityHashMap<>();
+        Map<Long, List<PendingBooking>> byEvent = new LinkedHashMap<>();
+        batch.forEach(pending -> byEvent.computeIfAbsent(pending.command().eventId(), k -> new ArrayList<>()).add(pending));
+
+        List<Booking> bookings = new ArrayList<>(batch.size());
+        Map<Booking, PendingBooking> owners = new IdentityHashMap<>();
+
+        byEvent.forEach((eventId, requests) -> {
+            List<PendingBooking> accepted = new ArrayList<>(requests.size());
+            List<PendingBooking> rejected = new ArrayList<>();
+            reserveSeats(eventId, requests, now, accepted, rejected);
+
+            // Loaded after the seat updates so rejection messages see the current count
+            Event event = eventRepository.findById(eventId).orElse(null);
+            if (event == null) {
+                requests.forEach(pending -> outcomes.put(pending, new ResourceNotFoundException("Event not found")));
+                return;
+            }
+            rejected.forEach(pending -> outcomes.put(pending, rejection(event, now)));
+            for (PendingBooking pending : accepted) {
+                Booking booking = toBooking(pending.command(), event);
+                bookings.add(booking);
+                owners.put(booking, pending);
+            }
+        });
+
+        SecurityContext writerContext = SecurityContextHolder.getContext();
+        try {
+            for (Booking booking : bookings) {
+                PendingBooking pending = owners.get(booking);
+                // Auditing reads the caller's identity for createdBy
+                SecurityContextHolder.setContext(pending.securityContext());
+                Booking saved = bookingRepository.save(booking);
+                if (saved.getStatus() == BookingStatus.CONFIRMED) {
+                    locationEnricher.enrichAfterCommit(saved);
+                }
+                outcomes.put(pending, saved);
+            }
+        } finally {
+            SecurityContextHolder.setContext(writerContext);
+        }
+        return outcomes;
+    }
+
+    private void reserveSeats(Long eventId, List<PendingBooking> requests, LocalDateTime now,
+                              List<PendingBooking> accepted, List<PendingBooking> rejected) {
+        // Hot events are served from the in-memory inventory, everything else by conditional UPDATEs
+        List<PendingBooking> direct = new ArrayList<>(requests.size());
+        for (PendingBooking pending : requests) {
+            switch (seatInventory.tryReserve(eventId, pending.command().tickets(), now)) {
+                case RESERVED -> accepted.add(pending);
+                case SOLD_OUT -> rejected.add(pending);
+                case NOT_MANAGED -> direct.add(pending);
+            }
+        }
+        if (direct.isEmpty()) {
+            return;
+        }
+
+        int total = direct.stream().mapToInt(pending -> pending.command().tickets()).sum();
+        if (direct.size() > 1 && eventRepository.decrementAvailableSeats(eventId, total, now) == 1) {
+            if (seatInventory.absorbDirectSale(eventId, total)) {
+                accepted.addAll(direct);
+                return;
+            }
+            eventRepository.applySoldSeats(eventId, -total);
+        }
+
+        // Not enough seats for the whole group: first come, first served
+        for (PendingBooking pending : direct) {
+            int tickets = pending.command().tickets();
+            if (eventRepository.decrementAvailableSeats(eventId, tickets, now) == 0) {
+                rejected.add(pending);
+            } else if (seatInventory.absorbDirectSale(eventId, tickets)) {
+                accepted.add(pending);
+            } else {
+                // Row was decremented but memory sold the last seats first
+                eventRepository.applySoldSeats(eventId, -tickets);
+                rejected.add(pending);
+            }
+        }
+    }
+
+    private static Booking toBooking(BookingCommand command, Event event) {
+        return Booking.builder()
+                .user(command.user())
+                .event(event)
+                .bookingDate(LocalDateTime.now())
+                .numberOfTickets(command.tickets())
+                .status(command.status())
+                .holdExpiresAt(command.holdExpiresAt())
+                .ipAddress(command.clientIp())
+                .latitude(command.latitude())
+                .longitude(command.longitude())
+                .build();
+    }
+
+    private record PendingBooking(BookingCommand command, SecurityContext securityContext,
+                                  CompletableFuture<Booking> result) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.cache.CacheMetrics;
+import com.eventconnect.server.cache.EntityChange;
+import com.eventconnect.server.cache.InvalidationBus;
+import com.eventconnect.server.cache.TtlCache;
+import com.eventconnect.server.config.EventCatalogCacheProperties;
+import com.eventconnect.server.dto.EventSeats;
+import com.eventconnect.server.dto.EventView;
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for the public event catalog (GET /api/v1/events and /api/v1/events/{id}).
+ *
+ * Events are cached by id and search results by (keyword, page, size, sort). Admin writes evict
+ * the event and every cached search it could appear in, both immediately and again after commit
+ * so a concurrent read can't re-cache the old row, and a load that overlaps an eviction is not
+ * cached at all; the change is then broadcast on the InvalidationBus for other nodes. Entries are
+ * immutable EventViews, never the entities. Seat counts change with every booking, so they are
+ * not taken from the cached event: they come from the in-memory inventory for hot
+ * events, or from a short-TTL overlay refreshed with one query per page. Listing totals are
+ * cached per keyword so paging through results doesn't repeat the COUNT(*).
+ */
+@Service
+@RequiredArgsConstructor
+public class EventCatalogCache {
+
+    public record CachedPage(List<EventView> events, int number, long totalElements, int totalPages) {
+    }
+
+    private static final String ENTITY = "event";
+
+    private record PageKey(String keyword, int page, int size, String sort) {
+    }
+
+    private final EventRepository eventRepository;
+    private final SeatInventoryEngine seatInventory;
+    private final MeterRegistry meterRegistry;
+    private final InvalidationBus invalidationBus;
+    private final EventCatalogCacheProperties properties;
+
+    private TtlCache<Long, EventView> eventsById;
+    private TtlCache<PageKey, CachedPage> pages;
+    private TtlCache<Long, Integer> seats;
+    private TtlCache<String, Long> counts;
+
+    @PostConstruct
+    void initCaches() {
+        Duration ttl = Duration.ofSeconds(properties.ttlSec());
+        eventsById = new TtlCache<>(properties.maxSize(), ttl);
+        pages = new TtlCache<>(properties.pageMaxSize(), ttl);
+        seats = new TtlCache<>(properties.maxSize(), Duration.ofMillis(properties.seatsTtlMs()));
+        counts = new TtlCache<>(properties.pageMaxSize(), ttl);
+        CacheMetrics.bind(meterRegistry, "events.byId", eventsById);
+        CacheMetrics.bind(meterRegistry, "events.pages", pages);
+        CacheMetrics.bind(meterRegistry, "events.seats", seats);
+        CacheMetrics.bind(meterRegistry, "events.counts", counts);
+        invalidationBus.subscribe(ENTITY, this::apply);
+    }
+
+    public Optional<EventView> getEvent(Long id, Supplier<Optional<Event>> loader) {
+        if (!properties.enabled()) {
+            return loader.get().map(EventView::of);
+        }
+        EventView event = eventsById.get(id);
+        if (event == null) {
+            long generation = eventsById.generation();
+            Optional<Event> loaded = loader.get();
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            event = EventView.of(loaded.get());
+            eventsById.putIfUnchanged(id, event, generation);
+        }
+        return Optional.of(withCurrentSeats(List.of(event)).get(0));
+    }
+
+    /**
+     * The event at the given version with the given seat count, so the body matches an ETag
+     * computed from a version lookup. A cached copy at any other version is reloaded.
+     */
+    public Optional<EventView> getEvent(Long id, Long version, int availableSeats, Supplier<Optional<Event>> loader) {
+        EventView event = properties.enabled() ? eventsById.get(id) : null;
+        if (event == null || !Objects.equals(event.getVersion(), version)) {
+            long generation = eventsById.generation();
+            Optional<Event> loaded = loader.get();
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            event = EventView.of(loaded.get());
+            if (properties.enabled()) {
+                eventsById.putIfUnchanged(id, event, generation);
+            }
+            if (!Objects.equals(event.getVersion(), version)) {
+                // Changed again since the lookup; its ETag won't match the next request either
+                return Optional.of(withCurrentSeats(List.of(event)).get(0));
+            }
+        }
+        return Optional.of(event.getAvailableSeats() == availableSeats ? event : event.withAvailableSeats(availableSeats));
+    }
+
+    public CachedPage getPage(String keyword, Pageable pageable, Supplier<Page<Event>> loader) {
+        if (!properties.enabled()) {
+            return toCachedPage(loader.get());
+        }
+        PageKey key = new PageKey(normalize(keyword), pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().toString());
+        CachedPage page = pages.get(key);
+        if (page == null) {
+            long generation = pages.generation();
+            page = toCachedPage(loader.get());
+            pages.putIfUnchanged(key, page, generation);
+        }
+        return new CachedPage(withCurrentSeats(page.events()), page.number(), page.totalElements(), page.totalPages());
+    }
+
+    private static CachedPage toCachedPage(Page<Event> page) {
+        return new CachedPage(page.getContent().stream().map(EventView::of).toList(), page.getNumber(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+
+    /**
+     * Total for a listing, cached by normalized keyword. Small results are counted exactly; when
+     * the estimate says the result is large, the estimate is used instead.
+     */
+    public long getCount(String keyword, LongSupplier exactCount, Supplier<OptionalLong> estimatedCount) {
+        if (!properties.enabled()) {
+            return exactCount.getAsLong();
+        }
+        String key = normalize(keyword);
+        Long count = counts.get(key);
+        if (count != null) {
+            return count;
+        }
+        long generation = counts.generation();
+        OptionalLong estimate = estimatedCount.get();
+        if (estimate.isPresent() && estimate.getAsLong() > properties.exactCountThreshold()) {
+            count = estimate.getAsLong();
+            counts.putIfUnchanged(key, count, Duration.ofSeconds(properties.estimatedCountTtlSec()), generation);
+        } else {
+            count = exactCount.getAsLong();
+            counts.putIfUnchanged(key, count, generation);
+        }
+        return count;
+    }
+
+    /**
+     * Evicts the event and every cached search it appears in or could match, on this node and,
+     * after commit, on every other node. Pass the event as it was before and after the change so
+     * both old and new search terms are covered.
+     */
+    public void evict(Long id, Event... versions) {
+        EntityChange change = new EntityChange(ENTITY, id,
+                Arrays.stream(versions).map(EventCatalogCache::searchText).toList());
+        apply(change);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                    invalidationBus.publish(change);
+                }
+            });
+        } else {
+            invalidationBus.publish(change);
+        }
+    }
+
+    private void apply(EntityChange change) {
+        if (change.id() == null) {
+            eventsById.invalidateAll();
+            pages.invalidateAll();
+            seats.invalidateAll();
+            counts.invalidateAll();
+            return;
+        }
+        eventsById.invalidate(change.id());
+        seats.invalidate(change.id());
+        pages.invalidateIf((key, page) ->
+                page.events().stream().anyMatch(event -> event.getId().equals(change.id()))
+                        || change.searchText().stream().anyMatch(text -> matches(key.keyword(), text)));
+        // Only creates, deletes and edits of matching events change a total
+        counts.invalidateIf((keyword, count) ->
+                change.searchText().stream().anyMatch(text -> matches(keyword, text)));
+    }
+
+    // Cached events are shared between requests, so fresh seat counts go on copies
+    private List<EventView> withCurrentSeats(List<EventView> events) {
+        Map<Long, Integer> current = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (EventView event : events) {
+            OptionalInt inMemory = seatInventory.availableSeats(event.getId());
+            Integer cached = inMemory.isPresent() ? Integer.valueOf(inMemory.getAsInt()) : seats.get(event.getId());
+            if (cached != null) {
+                current.put(event.getId(), cached);
+            } else {
+                missing.add(event.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = seats.generation();
+            for (EventSeats row : eventRepository.findAvailableSeats(missing)) {
+                seats.putIfUnchanged(row.getId(), row.getAvailableSeats(), generation);
+                current.put(row.getId(), row.getAvailableSeats());
+            }
+        }
+
+        List<EventView> result = new ArrayList<>(events.size());
+        for (EventView event : events) {
+            Integer available = current.get(event.getId());
+            result.add(available == null || available.equals(event.getAvailableSeats()) ? event : event.withAvailableSeats(available));
+        }
+        return result;
+    }
+
+    private static String normalize(String keyword) {
+        return keyword == null || keyword.isBlank() ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String searchText(Event event) {
+        return (event.getTitle() + " " + event.getLocation() + " " + event.getCategory()).toLowerCase(Locale.ROOT);
+    }
+
+    // True if a search for keyword could return the event, under either LIKE or prefix full-text matching
+    private static boolean matches(String keyword, String text) {
+        if (keyword.isEmpty()) {
+            return true;
+        }
+        return Arrays.stream(keyword.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .allMatch(text::contains);
+    }
+}
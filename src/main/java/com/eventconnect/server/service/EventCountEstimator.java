@@ -0,0 +1,76 @@
+package com.eventconnect.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+/**
+ * Row estimates for event listings from the PostgreSQL planner (EXPLAIN, no execution).
+ * Used in place of COUNT(*) when a listing matches too many events for the exact total to matter.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventCountEstimator {
+
+    private static final String UPCOMING =
+            "SELECT 1 FROM events e WHERE e.is_active = true AND e.date > ?";
+    private static final String LIKE_FILTER =
+            " AND (LOWER(e.title) LIKE ? OR LOWER(e.location) LIKE ? OR LOWER(e.category) LIKE ?)";
+    private static final String FULL_TEXT_FILTER =
+            " AND e.search_vector @@ to_tsquery('simple', ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private boolean postgres;
+
+    @PostConstruct
+    void detectDatabase() {
+        postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName()));
+    }
+
+    /**
+     * Estimated number of upcoming events matching the search; empty if no estimate is available.
+     *
+     * @param keyword raw keyword for the LIKE search, or null
+     * @param tsQuery prefix tsquery when searching the full-text index, or null
+     */
+    public OptionalLong estimate(String keyword, String tsQuery, LocalDateTime now) {
+        if (!postgres) {
+            return OptionalLong.empty();
+        }
+        try {
+            String plan;
+            if (tsQuery != null) {
+                plan = explain(UPCOMING + FULL_TEXT_FILTER, Timestamp.valueOf(now), tsQuery);
+            } else if (keyword != null && !keyword.isBlank()) {
+                String pattern = "%" + keyword.toLowerCase() + "%";
+                plan = explain(UPCOMING + LIKE_FILTER, Timestamp.valueOf(now), pattern, pattern, pattern);
+            } else {
+                plan = explain(UPCOMING, Timestamp.valueOf(now));
+            }
+            JsonNode root = objectMapper.readTree(plan);
+            return OptionalLong.of(root.get(0).get("Plan").get("Plan Rows").asLong());
+        } catch (DataAccessException | JsonProcessingException | NullPointerException e) {
+            log.debug("Could not estimate event count: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+    }
+}
@@ -0,0 +1,87 @@
+package com.eventconnect.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over event title, category and location.
+ *
+ * On PostgreSQL, events get a generated tsvector column with a GIN index, so the database keeps
+ * it in sync on every insert and update. Keywords are turned into a prefix tsquery ("neo dre"
+ * matches "Neon Dreams") and results are ranked with title matches first. On other databases
+ * (H2 in tests) searches fall back to the LIKE query.
+ */
+@Slf4j
+@Service
+public class EventSearchIndex {
+
+    private static final String ADD_COLUMN_SQL =
+            "ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+            "setweight(to_tsvector('simple', coalesce(title, '')), 'A') || " +
+            "setweight(to_tsvector('simple', coalesce(category, '')), 'B') || " +
+            "setweight(to_tsvector('simple', coalesce(location, '')), 'B')) STORED";
+
+    private static final String CREATE_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_event_search_vector ON events USING GIN (search_vector)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.full-text.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean available;
+
+    // Depends on the EntityManagerFactory so the events table exists before the column is added
+    public EventSearchIndex(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void createIndex() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(database)) {
+                log.info("Full-text event search needs PostgreSQL, using LIKE search on {}", database);
+                return;
+            }
+            jdbcTemplate.execute(ADD_COLUMN_SQL);
+            jdbcTemplate.execute(CREATE_INDEX_SQL);
+            available = true;
+        } catch (DataAccessException e) {
+            log.warn("Could not create full-text event index, using LIKE search: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Builds a tsquery that requires every word as a prefix, e.g. "Neon  dre!" -> "neon:* & dre:*".
+     * Only letters and digits are kept so user input can't inject tsquery operators.
+     * Returns null if nothing searchable is left.
+     */
+    public static String toPrefixQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String query = Arrays.stream(keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
@@ -1,6 +1,9 @@
 package com.eventconnect.server.service;
 
+import com.eventconnect.server.dto.EventCursorPage;
 import com.eventconnect.server.dto.EventDto;
+import com.eventconnect.server.dto.EventRevision;
+import com.eventconnect.server.dto.EventView;
 import com.eventconnect.server.entity.Booking;
 import com.eventconnect.server.entity.BookingStatus;
 import com.eventconnect.server.entity.Event;
@@ -10,15 +13,22 @@ import com.eventconnect.server.repository.BookingRepository;
 import com.eventconnect.server.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -27,22 +37,143 @@ public class EventService {
 
     private final EventRepository repository;
     private final BookingRepository bookingRepository;
+    private final SeatInventoryEngine seatInventory;
+    private final EventSearchIndex searchIndex;
+    private final EventCatalogCache catalogCache;
+    private final EventCountEstimator countEstimator;
 
     // Returns a simplified Map structure instead of raw Page object
     public Map<String, Object> getAllEvents(String keyword, Pageable pageable) {
-        Page<Event> pageEvents = repository.searchEvents(keyword, LocalDateTime.now(), pageable);
+        EventCatalogCache.CachedPage pageEvents = catalogCache.getPage(keyword, pageable, () -> searchEvents(keyword, pageable));
 
         Map<String, Object> response = new HashMap<>();
-        response.put("events", pageEvents.getContent()); // Just the array
-        response.put("currentPage", pageEvents.getNumber());
-        response.put("totalItems", pageEvents.getTotalElements());
-        response.put("totalPages", pageEvents.getTotalPages());
+        response.put("events", pageEvents.events()); // Just the array
+        response.put("currentPage", pageEvents.number());
+        response.put("totalItems", pageEvents.totalElements());
+        response.put("totalPages", pageEvents.totalPages());
 
         return response;
     }
 
-    public Event getEventById(Long id) {
-        Event event = repository.findById(id)
+    // Cursor-based listing: ordered by (date, id), no OFFSET, and COUNT(*) only on request
+    public EventCursorPage getEventsAfter(String keyword, String cursor, int size, boolean includeCount) {
+        LocalDateTime now = LocalDateTime.now();
+        Cursor position = cursor == null ? new Cursor(now, Long.MAX_VALUE) : Cursor.decode(cursor);
+        String query = EventSearchIndex.toPrefixQuery(keyword);
+        boolean fullText = query != null && searchIndex.isAvailable();
+
+        List<Event> events = fullText
+                ? repository.findUpcomingFullTextAfter(query, now, position.date(), position.id(), size)
+                : repository.findUpcomingAfter(keyword, now, position.date(), position.id(), Limit.of(size));
+        Long total = !includeCount ? null
+                : fullText ? repository.countUpcomingFullText(query, now) : repository.countUpcoming(keyword, now);
+        return toCursorPage(events, size, total);
+    }
+
+    public EventCursorPage getAllEventsForAdminAfter(String cursor, int size, boolean includeCount) {
+        List<Event> events;
+        if (cursor == null) {
+            events = repository.findAllEventsFirst(true, Limit.of(size));
+        } else {
+            Cursor position = Cursor.decode(cursor);
+            events = repository.findAllEventsAfter(true, position.date(), position.id(), Limit.of(size));
+        }
+        return toCursorPage(events, size, includeCount ? repository.countAllEvents(true) : null);
+    }
+
+    private static EventCursorPage toCursorPage(List<Event> events, int size, Long total) {
+        String nextCursor = null;
+        if (events.size() == size) {
+            Event last = events.get(events.size() - 1);
+            nextCursor = new Cursor(last.getDate(), last.getId()).encode();
+        }
+        return EventCursorPage.builder()
+                .events(events.stream().map(EventView::of).toList())
+                .nextCursor(nextCursor)
+                .totalItems(total)
+                .build();
+    }
+
+    // Position of the last event on a page, sent to clients as an opaque base64 token
+    private record Cursor(LocalDateTime date, Long id) {
+
+        String encode() {
+            String raw = date + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
+
+    // Keyword searches use the ranked full-text index when the database has one.
+    // The total comes from the count cache instead of a COUNT(*) per page.
+    private Page<Event> searchEvents(String keyword, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        String query = EventSearchIndex.toPrefixQuery(keyword);
+        if (query != null && searchIndex.isAvailable()) {
+            // Ordered by relevance, so the requested sort doesn't apply
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            List<Event> content = repository.searchEventsFullTextContent(query, now, unsorted);
+            long total = catalogCache.getCount(keyword,
+                    () -> repository.countUpcomingFullText(query, now),
+                    () -> countEstimator.estimate(null, query, now));
+            return new PageImpl<>(content, unsorted, total);
+        }
+        List<Event> content = repository.searchEventsContent(keyword, now, pageable);
+        long total = catalogCache.getCount(keyword,
+                () -> repository.countUpcoming(keyword, now),
+                () -> countEstimator.estimate(keyword, null, now));
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // Served from the catalog cache
+    public EventView getEventById(Long id) {
+        return checkActive(catalogCache.getEvent(id, () -> repository.findById(id)), id);
+    }
+
+    /**
+     * What a conditional GET of the event is checked against: its version, the seat count
+     * (from memory for hot events, whose sales reach the row in batches) and the last change time.
+     */
+    public record Revision(Long version, int availableSeats, LocalDateTime modifiedAt) {
+
+        // Strong validator: every edit and seat change bumps the version
+        public String eTag() {
+            return version + "-" + availableSeats;
+        }
+
+        public long lastModified() {
+            return modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+
+    // Version-only lookup, so a matching If-None-Match doesn't load or serialize the event
+    public Revision getEventRevision(Long id) {
+        EventRevision revision = repository.findRevisionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        if (!revision.getIsActive()) {
+            throw new ResourceNotFoundException("Event has been cancelled or deleted");
+        }
+        int seats = seatInventory.availableSeats(id).orElse(revision.getAvailableSeats());
+        return new Revision(revision.getVersion(), seats, revision.getModifiedAt());
+    }
+
+    // The event as of a revision from getEventRevision, so the body matches the ETag sent with it
+    public EventView getEventById(Long id, Revision revision) {
+        return checkActive(catalogCache.getEvent(id, revision.version(), revision.availableSeats(),
+                () -> repository.findById(id)), id);
+    }
+
+    private static EventView checkActive(Optional<EventView> found, Long id) {
+        EventView event = found
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
         
         // Check if event is active
@@ -72,13 +203,29 @@ public class EventService {
                 .availableSeats(dto.getCapacity()) // Initially full capacity
                 .imageUrl(dto.getImageUrl())
                 .build();
-        return repository.save(event);
+        Event saved = repository.save(event);
+        catalogCache.evict(saved.getId(), saved);
+        return saved;
     }
 
     //UPDATE
     @Transactional
     public Event updateEvent(Long id, EventDto dto) {
-        Event event = getEventById(id);
+        // A hot event keeps its date in memory; drop it before loading so the entity is current
+        if (dto.getDate() != null) {
+            seatInventory.evict(id);
+        }
+        Event event = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        if (!event.getIsActive()) {
+            throw new ResourceNotFoundException("Event has been cancelled or deleted");
+        }
+        // Searches matching the old values must go too
+        Event before = Event.builder()
+                .title(event.getTitle())
+                .location(event.getLocation())
+                .category(event.getCategory())
+                .build();
 
         if (dto.getTitle() != null) event.setTitle(dto.getTitle());
         if (dto.getDescription() != null) event.setDescription(dto.getDescription());
@@ -91,12 +238,17 @@ public class EventService {
         // Note: We typically don't update 'capacity' easily if bookings exist,
         // but for simplicity, we'll allow it or leave as is.
 
-        return repository.save(event);
+        Event saved = repository.save(event);
+        catalogCache.evict(id, before, saved);
+        return saved;
     }
 
     //SOFT DELETE with automatic booking cancellation
     @Transactional
     public void deleteEvent(Long id) {
+        // Stop selling from memory before loading: demotion writes the row and bumps its version
+        seatInventory.evict(id);
+
         Event event = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
         
@@ -108,6 +260,7 @@ public class EventService {
         // Soft delete the event (set isActive to false)
         event.setIsActive(false);
         repository.save(event);
+        catalogCache.evict(id, event);
         
         // If event date hasn't passed, cancel all active bookings
         if (event.getDate().isAfter(LocalDateTime.now())) {
@@ -0,0 +1,246 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.config.GeocodingHttpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Non-blocking HTTP client for the external geocoding services.
+ *
+ * One shared JDK HttpClient keeps connections alive and pooled per host, and every request is bounded
+ * by app.geocoding.http.connect-timeout-ms and request-timeout-ms. At most max-per-host requests run
+ * against a host at once; further ones wait in a short per-host queue and give up once they have
+ * waited a full request timeout. Each host also has a circuit breaker: after failure-threshold
+ * consecutive failures (timeouts, I/O errors, 429 and 5xx) requests fail fast for open-ms, then a
+ * single probe decides whether to close it again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeocodingHttpClient {
+
+    /**
+     * Request refused without being sent: the host's circuit is open or its queue is full.
+     */
+    public static class RejectedException extends RuntimeException {
+        public RejectedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Non-2xx response.
+     */
+    public static class StatusException extends IOException {
+        private final int status;
+
+        public StatusException(URI uri, int status) {
+            super("HTTP " + status + " from " + uri.getHost());
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private record Pending(HttpRequest request, CompletableFuture<String> result, long enqueuedAt) {
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final GeocodingHttpProperties properties;
+
+    private HttpClient client;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.connectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * GETs the URI and completes with the response body, or exceptionally with a RejectedException,
+     * StatusException, timeout or I/O error.
+     */
+    public CompletableFuture<String> get(URI uri, String... headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(properties.requestTimeoutMs()))
+                .GET();
+        if (headers.length > 0) {
+            builder.headers(headers);
+        }
+        return hosts.computeIfAbsent(uri.getHost(), Host::new).submit(builder.build());
+    }
+
+    private final class Host {
+        private final String name;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Pending> waiting = new ArrayDeque<>();
+        private final Timer success;
+        private final Timer failure;
+        private int active;
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean probing;
+
+        Host(String name) {
+            this.name = name;
+            this.success = timer("success");
+            this.failure = timer("failure");
+        }
+
+        CompletableFuture<String> submit(HttpRequest request) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            boolean start = false;
+            String rejection = null;
+            lock.lock();
+            try {
+                if (isClosed()) {
+                    if (active < properties.maxPerHost()) {
+                        active++;
+                        start = true;
+                    } else if (waiting.size() < properties.maxQueuedPerHost()) {
+                        waiting.add(new Pending(request, result, System.nanoTime()));
+                    } else {
+                        rejection = "too many queued requests";
+                    }
+                } else if (active < properties.maxPerHost() && tryProbe(System.nanoTime())) {
+                    active++;
+                    start = true;
+                } else {
+                    rejection = "circuit open";
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (start) {
+                send(request, result);
+            } else if (rejection != null) {
+                reject(result, rejection);
+            }
+            return result;
+        }
+
+        private void send(HttpRequest request, CompletableFuture<String> result) {
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                Throwable failureCause = error;
+                boolean hostFault = error != null;
+                if (error == null && (response.statusCode() < 200 || response.statusCode() >= 300)) {
+                    failureCause = new StatusException(request.uri(), response.statusCode());
+                    // Other 4xx are about the request, not the host's health
+                    hostFault = response.statusCode() == 429 || response.statusCode() >= 500;
+                }
+                (failureCause == null ? success : failure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                release(hostFault);
+
+                if (failureCause == null) {
+                    result.complete(response.body());
+                } else {
+                    result.completeExceptionally(failureCause);
+                }
+            });
+        }
+
+        // Records the outcome and hands the freed slot to the next queued request
+        private void release(boolean hostFault) {
+            Pending next = null;
+            List<Pending> dropped = new ArrayList<>();
+            long now = System.nanoTime();
+            boolean closed;
+            lock.lock();
+            try {
+                record(hostFault, now);
+                closed = isClosed();
+                while (next == null && !waiting.isEmpty()) {
+                    Pending candidate = waiting.poll();
+                    if (closed && now - candidate.enqueuedAt() <= TimeUnit.MILLISECONDS.toNanos(properties.requestTimeoutMs())) {
+                        next = candidate;
+                    } else {
+                        dropped.add(candidate);
+                    }
+                }
+                if (next == null) {
+                    active--;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            for (Pending pending : dropped) {
+                reject(pending.result(), closed ? "queued too long" : "circuit open");
+            }
+            if (next != null) {
+                send(next.request(), next.result());
+            }
+        }
+
+        private boolean isClosed() {
+            return consecutiveFailures < properties.breaker().failureThreshold();
+        }
+
+        // Once the open period has passed, lets a single request through to test the host
+        private boolean tryProbe(long now) {
+            if (now - openUntil < 0 || probing) {
+                return false;
+            }
+            probing = true;
+            return true;
+        }
+
+        private void record(boolean hostFault, long now) {
+            if (!hostFault) {
+                if (consecutiveFailures >= properties.breaker().failureThreshold()) {
+                    log.info("Circuit closed for {}", name);
+                }
+                consecutiveFailures = 0;
+                probing = false;
+                return;
+            }
+            consecutiveFailures++;
+            if (consecutiveFailures >= properties.breaker().failureThreshold()) {
+                if (consecutiveFailures == properties.breaker().failureThreshold()) {
+                    log.warn("Circuit opened for {} after {} consecutive failures", name, consecutiveFailures);
+                }
+                openUntil = now + Duration.ofMillis(properties.breaker().openMs()).toNanos();
+                probing = false;
+            }
+        }
+
+        private void reject(CompletableFuture<String> result, String reason) {
+            meterRegistry.counter("geocode.http.rejected", "host", name).increment();
+            result.completeExceptionally(new RejectedException(reason + " for " + name));
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("geocode.http.requests")
+                    .tag("host", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
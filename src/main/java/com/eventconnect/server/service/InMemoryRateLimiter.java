@@ -0,0 +1,75 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.config.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-node rate limiter using GCRA (an allocation-free token bucket).
+ * Each user is a single long "theoretical arrival time" updated with CAS; see RateLimitProperties
+ * for how the limit is applied.
+ */
+@Service
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long limitNanos;
+
+    // Stores the theoretical arrival time (System.nanoTime based) for each user
+    private final ConcurrentHashMap<String, AtomicLong> userBuckets = new ConcurrentHashMap<>();
+
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public InMemoryRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    // For tests that control time
+    InMemoryRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = properties.emissionIntervalNanos();
+        this.limitNanos = properties.limitNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = userBuckets.get(key);
+        if (bucket == null) {
+            bucket = userBuckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long next = (tat - now > 0 ? tat : now) + emissionIntervalNanos;
+            if (next - now > limitNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drops users whose bucket has fully refilled; they behave exactly like unseen users.
+     * A request racing with removal can at worst gain one extra permit.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdleUsers() {
+        long now = nanoClock.getAsLong();
+        userBuckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    int size() {
+        return userBuckets.size();
+    }
+}
@@ -0,0 +1,443 @@
+package com.eventconnect.server.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * IP-to-location lookup over a range database such as DB-IP's "IP to City Lite" CSV
+ * (start,end,continent,country,region,city,latitude,longitude) or "IP to Country Lite" (start,end,country),
+ * with IPv4 and IPv6 rows in one file, sorted by start address.
+ *
+ * Ranges live in sorted primitive arrays, IPv4 as one long per bound and IPv6 as two (high and low 64
+ * bits), and are found by binary search. Addresses are parsed straight from the string, without
+ * InetAddress, and labels are built once at load time, so a lookup allocates nothing.
+ */
+public final class IpRangeIndex {
+
+    private final long[] v4Start;
+    private final long[] v4End;
+    private final int[] v4Label;
+    private final long[] v6StartHigh;
+    private final long[] v6StartLow;
+    private final long[] v6EndHigh;
+    private final long[] v6EndLow;
+    private final int[] v6Label;
+    private final String[] labels;
+
+    private IpRangeIndex(Ranges v4, Ranges v6, String[] labels) {
+        this.v4Start = Arrays.copyOf(v4.startLow, v4.size);
+        this.v4End = Arrays.copyOf(v4.endLow, v4.size);
+        this.v4Label = Arrays.copyOf(v4.label, v4.size);
+        this.v6StartHigh = Arrays.copyOf(v6.startHigh, v6.size);
+        this.v6StartLow = Arrays.copyOf(v6.startLow, v6.size);
+        this.v6EndHigh = Arrays.copyOf(v6.endHigh, v6.size);
+        this.v6EndLow = Arrays.copyOf(v6.endLow, v6.size);
+        this.v6Label = Arrays.copyOf(v6.label, v6.size);
+        this.labels = labels;
+    }
+
+    public int size() {
+        return v4Start.length + v6StartHigh.length;
+    }
+
+    /**
+     * "City, Region, Country (lat, lon)" for the address, or null if it is invalid or in no range.
+     */
+    public String lookup(CharSequence ip) {
+        long v4 = parseV4(ip, 0, ip.length());
+        if (v4 >= 0) {
+            return lookupV4(v4);
+        }
+        int end = v6End(ip);
+        if (!isV6(ip, end)) {
+            return null;
+        }
+        long high = v6Word(ip, end, 0);
+        long low = v6Word(ip, end, 1);
+        if (high == 0 && (low >>> 32) == 0xffffL) {
+            // IPv4-mapped (::ffff:a.b.c.d)
+            return lookupV4(low & 0xffffffffL);
+        }
+        int i = floor(high, low);
+        if (i < 0 || compare(high, low, v6EndHigh[i], v6EndLow[i]) > 0) {
+            return null;
+        }
+        return labels[v6Label[i]];
+    }
+
+    private String lookupV4(long address) {
+        int lo = 0;
+        int hi = v4Start.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (v4Start[mid] <= address) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        // hi is now the last range starting at or before the address
+        return hi >= 0 && address <= v4End[hi] ? labels[v4Label[hi]] : null;
+    }
+
+    private int floor(long high, long low) {
+        int lo = 0;
+        int hi = v6StartHigh.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(v6StartHigh[mid], v6StartLow[mid], high, low) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    private static int compare(long aHigh, long aLow, long bHigh, long bLow) {
+        int high = Long.compareUnsigned(aHigh, bHigh);
+        return high != 0 ? high : Long.compareUnsigned(aLow, bLow);
+    }
+
+    /**
+     * True for a syntactically valid IPv4 or IPv6 address.
+     */
+    public static boolean isValid(CharSequence ip) {
+        return parseV4(ip, 0, ip.length()) >= 0 || isV6(ip, v6End(ip));
+    }
+
+    /**
+     * Loopback, RFC 1918 private, link-local and IPv6 unique local addresses, plus "localhost".
+     */
+    public static boolean isPrivate(CharSequence ip) {
+        long v4 = parseV4(ip, 0, ip.length());
+        if (v4 >= 0) {
+            return isPrivateV4(v4);
+        }
+        int end = v6End(ip);
+        if (!isV6(ip, end)) {
+            return "localhost".contentEquals(ip);
+        }
+        long high = v6Word(ip, end, 0);
+        long low = v6Word(ip, end, 1);
+        if (high == 0 && (low >>> 32) == 0xffffL) {
+            return isPrivateV4(low & 0xffffffffL);
+        }
+        return (high == 0 && low == 1)          // ::1
+                || (high >>> 57) == 0x7eL        // fc00::/7 unique local
+                || (high >>> 54) == 0x3faL;      // fe80::/10 link-local
+    }
+
+    private static boolean isPrivateV4(long ip) {
+        return (ip >>> 24) == 10                 // 10.0.0.0/8
+                || (ip >>> 20) == 0xac1L         // 172.16.0.0/12
+                || (ip >>> 16) == 0xc0a8L        // 192.168.0.0/16
+                || (ip >>> 24) == 127            // 127.0.0.0/8 loopback
+                || (ip >>> 16) == 0xa9feL;       // 169.254.0.0/16 link-local
+    }
+
+    // Dotted quad in [from, to) as an unsigned 32-bit value, or -1
+    static long parseV4(CharSequence s, int from, int to) {
+        long value = 0;
+        int octets = 0;
+        int i = from;
+        while (octets < 4) {
+            int octet = 0;
+            int digits = 0;
+            while (i < to && digits < 3 && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+                octet = octet * 10 + (s.charAt(i++) - '0');
+                digits++;
+            }
+            if (digits == 0 || octet > 255) {
+                return -1;
+            }
+            value = (value << 8) | octet;
+            if (++octets < 4) {
+                if (i >= to || s.charAt(i) != '.') {
+                    return -1;
+                }
+                i++;
+            }
+        }
+        return i == to ? value : -1;
+    }
+
+    // Ignores a zone id such as "%eth0"
+    private static int v6End(CharSequence s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '%') {
+                return i;
+            }
+        }
+        return s.length();
+    }
+
+    // Validates groups of 1-4 hex digits, at most one "::" and an optional dotted-quad tail
+    private static boolean isV6(CharSequence s, int end) {
+        if (end < 2) {
+            return false;
+        }
+        int groups = 0;
+        boolean compressed = false;
+        int i = 0;
+        if (s.charAt(0) == ':') {
+            if (s.charAt(1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i = 2;
+        }
+        while (i < end) {
+            int segmentEnd = segmentEnd(s, i, end);
+            if (segmentEnd == i) {
+                return false;
+            }
+            if (isDotted(s, i, segmentEnd)) {
+                if (segmentEnd != end || parseV4(s, i, segmentEnd) < 0) {
+                    return false;
+                }
+                groups += 2;
+            } else {
+                if (segmentEnd - i > 4 || hex(s, i, segmentEnd) < 0) {
+                    return false;
+                }
+                groups++;
+            }
+            i = segmentEnd;
+            if (i < end) {
+                // At a ':'; a second one marks the compressed run
+                if (i + 1 < end && s.charAt(i + 1) == ':') {
+                    if (compressed) {
+                        return false;
+                    }
+                    compressed = true;
+                    i += 2;
+                } else if (i + 1 == end) {
+                    return false;
+                } else {
+                    i++;
+                }
+            }
+        }
+        return compressed ? groups < 8 : groups == 8;
+    }
+
+    // The high (word 0) or low (word 1) 64 bits of an address that passed isV6
+    private static long v6Word(CharSequence s, int end, int word) {
+        int doubleColon = -1;
+        for (int i = 0; i + 1 < end; i++) {
+            if (s.charAt(i) == ':' && s.charAt(i + 1) == ':') {
+                doubleColon = i;
+                break;
+            }
+        }
+        int groupsAfter = doubleColon < 0 ? 0 : countGroups(s, doubleColon + 2, end);
+
+        long result = 0;
+        int position = 0;
+        int i = 0;
+        while (i < end) {
+            if (i == doubleColon) {
+                position = 8 - groupsAfter;
+                i += 2;
+                continue;
+            }
+            int segmentEnd = segmentEnd(s, i, end);
+            if (isDotted(s, i, segmentEnd)) {
+                long v4 = parseV4(s, i, segmentEnd);
+                result |= place(v4 >>> 16, position++, word);
+                result |= place(v4 & 0xffff, position++, word);
+            } else {
+                result |= place(hex(s, i, segmentEnd), position++, word);
+            }
+            i = segmentEnd;
+            if (i < end && i != doubleColon) {
+                i++;
+            }
+        }
+        return result;
+    }
+
+    private static long place(long group, int position, int word) {
+        if (position / 4 != word) {
+            return 0;
+        }
+        return group << (16 * (3 - position % 4));
+    }
+
+    private static int countGroups(CharSequence s, int from, int end) {
+        int groups = 0;
+        int i = from;
+        while (i < end) {
+            int segmentEnd = segmentEnd(s, i, end);
+            groups += isDotted(s, i, segmentEnd) ? 2 : 1;
+            i = segmentEnd + 1;
+        }
+        return groups;
+    }
+
+    private static int segmentEnd(CharSequence s, int from, int end) {
+        int i = from;
+        while (i < end && s.charAt(i) != ':') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDotted(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hex(CharSequence s, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(s.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Loads a range CSV as described above. Rows with unparseable addresses are skipped; starts
+     * must be ascending within each address family.
+     */
+    public static IpRangeIndex load(Path csv) throws IOException {
+        Ranges v4 = new Ranges();
+        Ranges v6 = new Ranges();
+        Map<String, Integer> labelIds = new HashMap<>();
+        List<String> labels = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                List<String> fields = csvFields(line);
+                if (fields.size() < 3) {
+                    continue;
+                }
+                String label = label(fields);
+                Integer id = labelIds.get(label);
+                if (id == null) {
+                    id = labels.size();
+                    labelIds.put(label, id);
+                    labels.add(label);
+                }
+
+                String start = fields.get(0);
+                String end = fields.get(1);
+                long startV4 = parseV4(start, 0, start.length());
+                long endV4 = parseV4(end, 0, end.length());
+                if (startV4 >= 0 && endV4 >= 0) {
+                    v4.add(0, startV4, 0, endV4, id, csv, lineNumber);
+                } else if (isV6(start, start.length()) && isV6(end, end.length())) {
+                    v6.add(v6Word(start, start.length(), 0), v6Word(start, start.length(), 1),
+                            v6Word(end, end.length(), 0), v6Word(end, end.length(), 1), id, csv, lineNumber);
+                }
+            }
+        }
+        return new IpRangeIndex(v4, v6, labels.toArray(String[]::new));
+    }
+
+    // Same shape as the ipapi.co result: "City, Region, Country (lat, lon)"
+    private static String label(List<String> fields) {
+        if (fields.size() < 6) {
+            return countryName(fields.get(2));
+        }
+        String city = fields.get(5).isEmpty() ? "City" : fields.get(5);
+        String region = fields.get(4).isEmpty() ? "" : ", " + fields.get(4);
+        String coordinates = "";
+        if (fields.size() >= 8) {
+            try {
+                coordinates = String.format(" (%.4f, %.4f)",
+                        Double.parseDouble(fields.get(6)), Double.parseDouble(fields.get(7)));
+            } catch (NumberFormatException e) {
+                coordinates = "";
+            }
+        }
+        return String.format("%s%s, %s%s", city, region, countryName(fields.get(3)), coordinates);
+    }
+
+    private static String countryName(String code) {
+        if (code.length() != 2) {
+            return code.isEmpty() ? "Country" : code;
+        }
+        String name = new Locale("", code).getDisplayCountry(Locale.ENGLISH);
+        return name.isEmpty() ? code : name;
+    }
+
+    // Comma separated, with "quoted, fields" and "" escapes
+    private static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static final class Ranges {
+        long[] startHigh = new long[1024];
+        long[] startLow = new long[1024];
+        long[] endHigh = new long[1024];
+        long[] endLow = new long[1024];
+        int[] label = new int[1024];
+        int size;
+
+        void add(long sHigh, long sLow, long eHigh, long eLow, int labelId, Path csv, int lineNumber) throws IOException {
+            if (size > 0 && compare(sHigh, sLow, startHigh[size - 1], startLow[size - 1]) < 0) {
+                throw new IOException(csv + ":" + lineNumber + ": ranges must be sorted by start address");
+            }
+            if (size == label.length) {
+                int capacity = size * 2;
+                startHigh = Arrays.copyOf(startHigh, capacity);
+                startLow = Arrays.copyOf(startLow, capacity);
+                endHigh = Arrays.copyOf(endHigh, capacity);
+                endLow = Arrays.copyOf(endLow, capacity);
+                label = Arrays.copyOf(label, capacity);
+            }
+            startHigh[size] = sHigh;
+            startLow[size] = sLow;
+            endHigh[size] = eHigh;
+            endLow[size] = eLow;
+            label[size] = labelId;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.config.RateLimitProperties;
+import com.eventconnect.server.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter shared by all replicas, backed by a database table.
+ *
+ * Applies the same GCRA rule as InMemoryRateLimiter in a single MERGE per check, against the
+ * database clock: a user's first request inserts the bucket, later ones advance it only while
+ * within the limit, so one affected row means the request is allowed. That is one round trip per
+ * booking attempt and nothing while a user is idle. A user's bookings are seconds to minutes
+ * apart, so permits leased to a node would almost always expire unused; they are not cached.
+ *
+ * MERGE needs PostgreSQL 15 or later (H2 in the tests). While the table can't be reached,
+ * requests are allowed when app.rate-limit.jdbc.fail-open is set (the default): the booking
+ * that follows needs the same database anyway. Otherwise they are refused with a 503.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+public class JdbcRateLimiter implements RateLimiter {
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS rate_limit_buckets (" +
+            "bucket_key VARCHAR(255) PRIMARY KEY, " +
+            "tat BIGINT NOT NULL)";
+
+    // Database clock in epoch ms
+    private static final String NOW_MS = "CAST(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP) * 1000 AS BIGINT)";
+
+    // Parameters: key, emission interval, limit, emission interval, emission interval
+    private static final String ACQUIRE_SQL =
+            "MERGE INTO rate_limit_buckets b " +
+            "USING (VALUES (?, " + NOW_MS + ")) AS r (bucket_key, now_ms) ON b.bucket_key = r.bucket_key " +
+            "WHEN MATCHED AND GREATEST(b.tat, r.now_ms) + ? - r.now_ms <= ? " +
+            "THEN UPDATE SET tat = GREATEST(b.tat, r.now_ms) + ? " +
+            "WHEN NOT MATCHED THEN INSERT (bucket_key, tat) VALUES (r.bucket_key, r.now_ms + ?)";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM rate_limit_buckets WHERE tat < " + NOW_MS;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RateLimitProperties properties;
+
+    private long emissionIntervalMs;
+    private long limitMs;
+
+    @PostConstruct
+    void init() {
+        emissionIntervalMs = TimeUnit.NANOSECONDS.toMillis(properties.emissionIntervalNanos());
+        limitMs = TimeUnit.NANOSECONDS.toMillis(properties.limitNanos());
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        try {
+            try {
+                return acquire(key);
+            } catch (DuplicateKeyException e) {
+                // Another node inserted the bucket first; it exists now
+                return acquire(key);
+            }
+        } catch (DataAccessException e) {
+            if (properties.jdbc().failOpen()) {
+                log.warn("Rate limit store unavailable, allowing request for {}: {}", key, e.getMessage());
+                return true;
+            }
+            log.warn("Rate limit store unavailable, refusing request for {}: {}", key, e.getMessage());
+            throw new ServiceUnavailableException("Booking is temporarily unavailable, please try again");
+        }
+    }
+
+    private boolean acquire(String key) {
+        return jdbcTemplate.update(ACQUIRE_SQL, key, emissionIntervalMs, limitMs, emissionIntervalMs, emissionIntervalMs) == 1;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        try {
+            int purged = jdbcTemplate.update(PURGE_SQL);
+            log.debug("Purged {} idle rate limit buckets", purged);
+        } catch (DataAccessException e) {
+            log.warn("Failed to purge rate limit buckets: {}", e.getMessage());
+        }
+    }
+}
@@ -1,22 +1,80 @@
 package com.eventconnect.server.service;
 
+import com.eventconnect.server.cache.CacheMetrics;
+import com.eventconnect.server.cache.GeoHash;
+import com.eventconnect.server.cache.TtlCache;
+import com.eventconnect.server.config.GeocodingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.RestClientException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 @Service
 @RequiredArgsConstructor
-public class LocationService {
+public class LocationService implements ReverseGeocoder {
 
     private static final Logger logger = LoggerFactory.getLogger(LocationService.class);
-    private final RestTemplate restTemplate;
+    private final GeocodingHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    // Present with app.geocoding.provider=offline; then coordinates never leave the JVM
+    private final Optional<OfflineReverseGeocoder> offlineGeocoder;
+
+    private final GeocodingProperties properties;
+
+    private IpRangeIndex ipIndex;
+
+    // Keyed by geohash cell; empty means the last lookup failed
+    private TtlCache<String, Optional<String>> coordinateCache;
+    // Keyed by /24 (IPv4) or /48 (IPv6) prefix
+    private TtlCache<String, String> ipCache;
+    private Duration negativeTtl;
+
+    // Lookups in flight, by the same keys as the caches, so concurrent misses share one request
+    private final Map<String, CompletableFuture<Optional<String>>> coordinateLookups = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> ipLookups = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void initCaches() {
+        GeocodingProperties.Cache cache = properties.cache();
+        coordinateCache = new TtlCache<>(cache.maxSize(), Duration.ofSeconds(cache.ttlSec()));
+        ipCache = new TtlCache<>(cache.maxSize(), Duration.ofSeconds(cache.ttlSec()));
+        negativeTtl = Duration.ofSeconds(cache.negativeTtlSec());
+        CacheMetrics.bind(meterRegistry, "geocode.coordinates", coordinateCache);
+        CacheMetrics.bind(meterRegistry, "geocode.ip", ipCache);
+        if (!properties.ipDatabaseFile().isBlank()) {
+            loadIpDatabase(Path.of(properties.ipDatabaseFile()));
+        }
+    }
+
+    private void loadIpDatabase(Path file) {
+        long start = System.nanoTime();
+        try {
+            ipIndex = IpRangeIndex.load(file);
+            logger.info("Loaded {} IP ranges from {} in {} ms", ipIndex.size(), file, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load IP database " + file, e);
+        }
+    }
 
     /**
      * Extract client IP address from HTTP request
@@ -44,59 +102,96 @@ public class LocationService {
      * Returns location in format: "City, Country (Latitude, Longitude)"
      */
     public String getLocationFromIp(String ipAddress) {
-        try {
-            // Check if IP is localhost/private - use default dev location
-            if (isPrivateIp(ipAddress)) {
-                return "Development/Local Environment (Testing Location)";
+        return getLocationFromIpAsync(ipAddress).join();
+    }
+
+    public CompletableFuture<String> getLocationFromIpAsync(String ipAddress) {
+        // Check if IP is localhost/private - use default dev location
+        if (IpRangeIndex.isPrivate(ipAddress)) {
+            return CompletableFuture.completedFuture("Development/Local Environment (Testing Location)");
+        }
+        // Forwarded headers are client-supplied; never put anything but an address into the URL
+        if (!IpRangeIndex.isValid(ipAddress)) {
+            return CompletableFuture.completedFuture("Location data unavailable");
+        }
+        if (ipIndex != null) {
+            String location = ipIndex.lookup(ipAddress);
+            if (location != null) {
+                return CompletableFuture.completedFuture(location);
             }
+        }
+
+        String prefix = ipPrefix(ipAddress);
+        String cached = ipCache.get(prefix);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
 
-            // Using ipapi.co - free and accurate
-            String url = "https://ipapi.co/" + ipAddress + "/json/";
-            String response = restTemplate.getForObject(url, String.class);
-            
-            JsonNode jsonNode = objectMapper.readTree(response);
-            String city = jsonNode.get("city").asText("City");
-            String region = jsonNode.get("region").asText("");
-            String country = jsonNode.get("country_name").asText("Country");
-            String latitude = jsonNode.get("latitude").asText("");
-            String longitude = jsonNode.get("longitude").asText("");
-            
-            // Build location string with coordinates
-            String regionStr = region.isEmpty() ? "" : ", " + region;
-            String coordStr = "";
-            if (!latitude.isEmpty() && !longitude.isEmpty()) {
-                try {
-                    double lat = Double.parseDouble(latitude);
-                    double lon = Double.parseDouble(longitude);
-                    coordStr = String.format(" (%.4f, %.4f)", lat, lon);
-                } catch (NumberFormatException e) {
-                    coordStr = "";
-                }
+        // Using ipapi.co - free and accurate
+        return coalesce(ipLookups, prefix, () -> httpClient.get(URI.create(properties.ipapiUrl() + "/" + ipAddress + "/json/"))
+                .handle((body, error) -> {
+                    if (error != null) {
+                        logger.warn("Failed to fetch location for IP {}: {}", ipAddress, cause(error).getMessage());
+                        if (!isTransient(error)) {
+                            ipCache.put(prefix, "Location service unavailable", negativeTtl);
+                        }
+                        return "Location service unavailable";
+                    }
+                    try {
+                        String location = parseIpLocation(body);
+                        logger.info("Location resolved for IP {}: {}", ipAddress, location);
+                        ipCache.put(prefix, location);
+                        return location;
+                    } catch (Exception e) {
+                        logger.error("Error processing location response for IP {}: {}", ipAddress, e.getMessage());
+                        ipCache.put(prefix, "Location data unavailable", negativeTtl);
+                        return "Location data unavailable";
+                    }
+                }));
+    }
+
+    private String parseIpLocation(String response) throws IOException {
+        JsonNode jsonNode = objectMapper.readTree(response);
+        String city = jsonNode.get("city").asText("City");
+        String region = jsonNode.get("region").asText("");
+        String country = jsonNode.get("country_name").asText("Country");
+        String latitude = jsonNode.get("latitude").asText("");
+        String longitude = jsonNode.get("longitude").asText("");
+        
+        // Build location string with coordinates
+        String regionStr = region.isEmpty() ? "" : ", " + region;
+        String coordStr = "";
+        if (!latitude.isEmpty() && !longitude.isEmpty()) {
+            try {
+                double lat = Double.parseDouble(latitude);
+                double lon = Double.parseDouble(longitude);
+                coordStr = String.format(" (%.4f, %.4f)", lat, lon);
+            } catch (NumberFormatException e) {
+                coordStr = "";
             }
-            
-            String location = String.format("%s%s, %s%s", city, regionStr, country, coordStr);
-            
-            logger.info("Location resolved for IP {}: {}", ipAddress, location);
-            return location;
-        } catch (RestClientException e) {
-            logger.warn("Failed to fetch location for IP {}: {}", ipAddress, e.getMessage());
-            return "Location service unavailable";
-        } catch (Exception e) {
-            logger.error("Error processing location response for IP {}: {}", ipAddress, e.getMessage());
-            return "Location data unavailable";
         }
+        
+        return String.format("%s%s, %s%s", city, regionStr, country, coordStr);
     }
 
     /**
-     * Check if IP is private/local
+     * Cache key for an IP: the /24 network for IPv4, the /48 network for IPv6
      */
-    private boolean isPrivateIp(String ip) {
-        return ip.startsWith("127.") || 
-               ip.startsWith("192.168.") || 
-               ip.startsWith("10.") || 
-               ip.startsWith("172.") ||
-               ip.equals("localhost") ||
-               ip.equals("::1");
+    static String ipPrefix(String ip) {
+        if (ip.indexOf(':') < 0) {
+            int lastDot = ip.lastIndexOf('.');
+            return lastDot > 0 ? ip.substring(0, lastDot) : ip;
+        }
+        try {
+            byte[] bytes = InetAddress.getByName(ip).getAddress();
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < 6 && i < bytes.length; i++) {
+                prefix.append(String.format("%02x", bytes[i]));
+            }
+            return prefix.toString();
+        } catch (UnknownHostException e) {
+            return ip;
+        }
     }
 
     public String getLocationFromCoordinates(Double latitude, Double longitude) {
@@ -104,60 +199,135 @@ public class LocationService {
             return "Location coordinates not provided";
         }
 
+        return reverseGeocode(latitude, longitude)
+                .orElseGet(() -> formatCoordinates(latitude, longitude));
+    }
+
+    /**
+     * Reverse geocode with a cache keyed by geohash cell, so nearby bookings share one lookup.
+     * Empty means the lookup failed and can be retried.
+     */
+    @Override
+    public Optional<String> reverseGeocode(double latitude, double longitude) {
+        return reverseGeocodeAsync(latitude, longitude).join();
+    }
+
+    public CompletableFuture<Optional<String>> reverseGeocodeAsync(double latitude, double longitude) {
+        if (offlineGeocoder.isPresent()) {
+            return CompletableFuture.completedFuture(offlineGeocoder.get().reverseGeocode(latitude, longitude));
+        }
+
+        String cell = GeoHash.encode(latitude, longitude, properties.cache().precision());
+        Optional<String> cached = coordinateCache.get(cell);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return coalesce(coordinateLookups, cell, () -> fetchReverseGeocode(cell, latitude, longitude));
+    }
+
+    private CompletableFuture<Optional<String>> fetchReverseGeocode(String cell, double latitude, double longitude) {
+        // Using Nominatim (OpenStreetMap) - free reverse geocoding
+        // Format: https://nominatim.openstreetmap.org/reverse?lat=<lat>&lon=<lon>&format=json
+        URI uri = URI.create(String.format(Locale.ROOT, "%s/reverse?lat=%.6f&lon=%.6f&format=json",
+                properties.nominatimUrl(), latitude, longitude));
+
+        // Set User-Agent header as required by Nominatim usage policy
+        return httpClient.get(uri, "User-Agent", "EventConnect-BookingSystem/1.0")
+                .handle((body, error) -> {
+                    if (error != null) {
+                        logger.warn("Failed to reverse geocode coordinates ({}, {}): {}", latitude, longitude, cause(error).getMessage());
+                        if (!isTransient(error)) {
+                            coordinateCache.put(cell, Optional.empty(), negativeTtl);
+                        }
+                        return Optional.empty();
+                    }
+                    try {
+                        Optional<String> location = Optional.of(parseReverseGeocode(body, latitude, longitude));
+                        coordinateCache.put(cell, location);
+                        return location;
+                    } catch (Exception e) {
+                        logger.error("Error processing reverse geocoding for ({}, {}): {}", latitude, longitude, e.getMessage());
+                        coordinateCache.put(cell, Optional.empty(), negativeTtl);
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private String parseReverseGeocode(String response, double latitude, double longitude) throws IOException {
+        JsonNode jsonNode = objectMapper.readTree(response);
+        JsonNode address = jsonNode.get("address");
+
+        if (address == null) {
+            return formatCoordinates(latitude, longitude);
+        }
+
+        String city = address.has("city") ? address.get("city").asText() : 
+                     address.has("town") ? address.get("town").asText() :
+                     address.has("village") ? address.get("village").asText() : "";
+        String state = address.has("state") ? address.get("state").asText() : "";
+        String country = address.has("country") ? address.get("country").asText() : "";
+        
+        // Build location string
+        StringBuilder location = new StringBuilder();
+        if (!city.isEmpty()) location.append(city);
+        if (!state.isEmpty()) {
+            if (location.length() > 0) location.append(", ");
+            location.append(state);
+        }
+        if (!country.isEmpty()) {
+            if (location.length() > 0) location.append(", ");
+            location.append(country);
+        }
+        
+        String locationStr = location.length() > 0 ? location.toString() : "Unknown Location";
+        logger.info("Reverse geocoded ({}, {}) to: {}", latitude, longitude, locationStr);
+        return locationStr;
+    }
+
+    // Joins an identical lookup already in flight, or starts one; the entry is dropped once it completes
+    private static <T> CompletableFuture<T> coalesce(Map<String, CompletableFuture<T>> inFlight, String key,
+                                                     Supplier<CompletableFuture<T>> lookup) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<T> started;
         try {
-            // Using Nominatim (OpenStreetMap) - free reverse geocoding
-            // Format: https://nominatim.openstreetmap.org/reverse?lat=<lat>&lon=<lon>&format=json
-            String url = String.format(
-                "https://nominatim.openstreetmap.org/reverse?lat=%.6f&lon=%.6f&format=json",
-                latitude, longitude
-            );
-            
-            // Set User-Agent header as required by Nominatim usage policy
-            org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-            headers.set("User-Agent", "EventConnect-BookingSystem/1.0");
-            
-            org.springframework.http.HttpEntity<String> entity = new org.springframework.http.HttpEntity<>(headers);
-            org.springframework.http.ResponseEntity<String> response = restTemplate.exchange(
-                url,
-                org.springframework.http.HttpMethod.GET,
-                entity,
-                String.class
-            );
-            
-            JsonNode jsonNode = objectMapper.readTree(response.getBody());
-            JsonNode address = jsonNode.get("address");
-            
-            if (address != null) {
-                String city = address.has("city") ? address.get("city").asText() : 
-                             address.has("town") ? address.get("town").asText() :
-                             address.has("village") ? address.get("village").asText() : "";
-                String state = address.has("state") ? address.get("state").asText() : "";
-                String country = address.has("country") ? address.get("country").asText() : "";
-                
-                // Build location string
-                StringBuilder location = new StringBuilder();
-                if (!city.isEmpty()) location.append(city);
-                if (!state.isEmpty()) {
-                    if (location.length() > 0) location.append(", ");
-                    location.append(state);
-                }
-                if (!country.isEmpty()) {
-                    if (location.length() > 0) location.append(", ");
-                    location.append(country);
-                }
-                
-                String locationStr = location.length() > 0 ? location.toString() : "Unknown Location";
-                logger.info("Reverse geocoded ({}, {}) to: {}", latitude, longitude, locationStr);
-                return locationStr;
-            }
-            
-            return String.format("Lat: %.4f, Lon: %.4f", latitude, longitude);
-        } catch (RestClientException e) {
-            logger.warn("Failed to reverse geocode coordinates ({}, {}): {}", latitude, longitude, e.getMessage());
-            return String.format("Lat: %.4f, Lon: %.4f", latitude, longitude);
-        } catch (Exception e) {
-            logger.error("Error processing reverse geocoding for ({}, {}): {}", latitude, longitude, e.getMessage());
-            return String.format("Lat: %.4f, Lon: %.4f", latitude, longitude);
+            started = lookup.get();
+        } catch (RuntimeException e) {
+            // Otherwise the entry stays behind and every later caller joins a lookup that never ends
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+            return created;
         }
+        started.whenComplete((value, error) -> {
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(value);
+            }
+        });
+        return created;
+    }
+
+    private static Throwable cause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // Timeouts, refused requests (open circuit, full queue), 429 and 5xx are worth retrying, so they
+    // aren't negatively cached; only answers the provider will repeat (other 4xx) are
+    private static boolean isTransient(Throwable error) {
+        return !(cause(error) instanceof GeocodingHttpClient.StatusException status)
+                || status.getStatus() == 429 || status.getStatus() >= 500;
+    }
+
+    /**
+     * Fallback label used when coordinates cannot be resolved to a place name
+     */
+    public static String formatCoordinates(double latitude, double longitude) {
+        return String.format("Lat: %.4f, Lon: %.4f", latitude, longitude);
     }
 }
@@ -0,0 +1,57 @@
+package com.eventconnect.server.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Reverse geocoder that answers from a local GeoNames dump, so bookings never wait on Nominatim.
+ * Enable with app.geocoding.provider=offline and point app.geocoding.offline.places-file at e.g.
+ * cities500.txt from https://download.geonames.org/export/dump/. admin1CodesASCII.txt and countryInfo.txt
+ * from the same place are picked up from that directory, when present, to name states and countries.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "app.geocoding.provider", havingValue = "offline")
+public class OfflineReverseGeocoder implements ReverseGeocoder {
+
+    @Value("${app.geocoding.offline.places-file}")
+    private Path placesFile;
+
+    // Points farther than this from any place (open sea, mostly) get the coordinate label
+    @Value("${app.geocoding.offline.max-distance-km:50}")
+    private double maxDistanceKm;
+
+    private PlaceIndex index;
+
+    @PostConstruct
+    void load() throws IOException {
+        long start = System.nanoTime();
+        Path dir = placesFile.toAbsolutePath().getParent();
+        index = PlaceIndex.load(placesFile, existing(dir.resolve("admin1CodesASCII.txt")),
+                existing(dir.resolve("countryInfo.txt")));
+        log.info("Loaded {} places from {} in {} ms", index.size(), placesFile, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Always resolves: a lookup that would fail now fails the same way on retry.
+     */
+    @Override
+    public Optional<String> reverseGeocode(double latitude, double longitude) {
+        String place = index.nearest(latitude, longitude, maxDistanceKm);
+        return Optional.of(place != null ? place : LocationService.formatCoordinates(latitude, longitude));
+    }
+
+    private static Path existing(Path file) {
+        return Files.isRegularFile(file) ? file : null;
+    }
+}
@@ -0,0 +1,358 @@
+package com.eventconnect.server.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Nearest-place lookup over a GeoNames dump (cities500.txt, cities1000.txt, ...), held in primitive arrays.
+ *
+ * Places are stored as unit vectors in an implicit k-d tree: the arrays are ordered so the median of every
+ * range is its split point, which needs no node objects or child pointers, and Euclidean distance between
+ * unit vectors orders places the same way as great-circle distance, with no special cases at the poles or
+ * the antimeridian. Per place that is three floats, a name offset and a region id. City names are kept
+ * as one UTF-8 byte array, and "State, Country" labels are shared by every place in a region.
+ *
+ * The dump is read through a memory mapping, parsing only the columns it needs straight from the mapped
+ * bytes, so loading a few hundred thousand places takes well under a second.
+ */
+public final class PlaceIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // GeoNames main table columns (tab separated)
+    private static final int NAME = 1;
+    private static final int LATITUDE = 4;
+    private static final int LONGITUDE = 5;
+    private static final int COUNTRY_CODE = 8;
+    private static final int ADMIN1_CODE = 10;
+    private static final int COLUMNS = 11;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] z;
+    private final int[] nameStart;
+    private final byte[] names;
+    private final int[] region;
+    private final String[] regionLabels;
+
+    private PlaceIndex(float[] x, float[] y, float[] z, int[] nameStart, byte[] names, int[] region, String[] regionLabels) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.nameStart = nameStart;
+        this.names = names;
+        this.region = region;
+        this.regionLabels = regionLabels;
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * "City, State, Country" of the nearest place within maxDistanceKm, or null if there is none.
+     */
+    public String nearest(double latitude, double longitude, double maxDistanceKm) {
+        int index = nearestIndex(latitude, longitude, maxDistanceKm);
+        if (index < 0) {
+            return null;
+        }
+        String city = new String(names, nameStart[index], nameStart[index + 1] - nameStart[index], StandardCharsets.UTF_8);
+        String label = regionLabels[region[index]];
+        return label.isEmpty() ? city : city + ", " + label;
+    }
+
+    // Index of the nearest place within maxDistanceKm, or -1
+    int nearestIndex(double latitude, double longitude, double maxDistanceKm) {
+        if (x.length == 0) {
+            return -1;
+        }
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        float qx = (float) (Math.cos(lat) * Math.cos(lon));
+        float qy = (float) (Math.cos(lat) * Math.sin(lon));
+        float qz = (float) Math.sin(lat);
+        // Chord length for the maximum arc
+        double chord = 2 * Math.sin(Math.min(maxDistanceKm / EARTH_RADIUS_KM, Math.PI) / 2);
+
+        Nearest best = new Nearest((float) (chord * chord));
+        search(0, x.length, 0, qx, qy, qz, best);
+        return best.index;
+    }
+
+    private static final class Nearest {
+        float distance;
+        int index = -1;
+
+        Nearest(float distance) {
+            this.distance = distance;
+        }
+    }
+
+    private void search(int lo, int hi, int axis, float qx, float qy, float qz, Nearest best) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            float dx = x[mid] - qx;
+            float dy = y[mid] - qy;
+            float dz = z[mid] - qz;
+            float distance = dx * dx + dy * dy + dz * dz;
+            if (distance <= best.distance) {
+                best.distance = distance;
+                best.index = mid;
+            }
+
+            float delta = axis == 0 ? dx : axis == 1 ? dy : dz;
+            int next = axis == 2 ? 0 : axis + 1;
+            // Nearer half first; the other one only if the splitting plane is within the best distance
+            if (delta > 0) {
+                search(lo, mid, next, qx, qy, qz, best);
+                lo = mid + 1;
+            } else {
+                search(mid + 1, hi, next, qx, qy, qz, best);
+                hi = mid;
+            }
+            if (delta * delta > best.distance) {
+                return;
+            }
+            axis = next;
+        }
+    }
+
+    /**
+     * Loads a GeoNames places table. admin1 (admin1CodesASCII.txt) and countries (countryInfo.txt)
+     * turn codes into names and may be null, in which case the codes are shown instead.
+     */
+    public static PlaceIndex load(Path places, Path admin1, Path countries) throws IOException {
+        Map<String, String> countryNames = countries == null ? Map.of() : readCountries(countries);
+        Map<String, String> admin1Names = admin1 == null ? Map.of() : readAdmin1(admin1);
+
+        Loader loader = new Loader();
+        try (FileChannel channel = FileChannel.open(places, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(places + " is larger than 2 GB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int[] starts = new int[COLUMNS + 1];
+            int limit = buffer.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int column = 0;
+                starts[0] = lineStart;
+                int i = lineStart;
+                for (; i < limit; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '\n') {
+                        break;
+                    }
+                    if (b == '\t' && column < COLUMNS) {
+                        starts[++column] = i + 1;
+                    }
+                }
+                if (column == COLUMNS && buffer.get(lineStart) != '#') {
+                    String countryCode = ascii(buffer, starts[COUNTRY_CODE], starts[COUNTRY_CODE + 1] - 1);
+                    String admin1Code = ascii(buffer, starts[ADMIN1_CODE], starts[ADMIN1_CODE + 1] - 1);
+                    loader.add(buffer, starts[NAME], starts[NAME + 1] - 1,
+                            decimal(buffer, starts[LATITUDE], starts[LATITUDE + 1] - 1),
+                            decimal(buffer, starts[LONGITUDE], starts[LONGITUDE + 1] - 1),
+                            loader.region(countryCode + "." + admin1Code, () -> label(
+                                    admin1Names.get(countryCode + "." + admin1Code),
+                                    countryNames.getOrDefault(countryCode, countryCode))));
+                }
+                lineStart = i + 1;
+            }
+        }
+        return loader.build();
+    }
+
+    private static String label(String state, String country) {
+        if (state == null || state.isEmpty()) {
+            return country;
+        }
+        return country.isEmpty() ? state : state + ", " + country;
+    }
+
+    // admin1CodesASCII.txt: "US.CA<tab>California<tab>California<tab>5332921"
+    private static Map<String, String> readAdmin1(Path file) throws IOException {
+        Map<String, String> names = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", 3);
+            if (fields.length >= 2) {
+                names.put(fields[0], fields[1]);
+            }
+        }
+        return names;
+    }
+
+    // countryInfo.txt: '#' comments, then "ISO<tab>ISO3<tab>ISO-Numeric<tab>fips<tab>Country<tab>..."
+    private static Map<String, String> readCountries(Path file) throws IOException {
+        Map<String, String> names = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", 6);
+            if (!line.startsWith("#") && fields.length >= 5) {
+                names.put(fields[0], fields[4]);
+            }
+        }
+        return names;
+    }
+
+    private static String ascii(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    // Plain decimals like "-33.86785"; anything else goes through Double.parseDouble
+    private static double decimal(MappedByteBuffer buffer, int start, int end) {
+        boolean negative = start < end && buffer.get(start) == '-';
+        long digits = 0;
+        int fractionDigits = -1;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9' && digits < Long.MAX_VALUE / 10) {
+                digits = digits * 10 + (b - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return Double.parseDouble(ascii(buffer, start, end));
+            }
+        }
+        double value = fractionDigits > 0 ? digits / Math.pow(10, fractionDigits) : digits;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Collects places in file order, then lays them out as the k-d tree.
+     */
+    private static final class Loader {
+        private float[] x = new float[1 << 16];
+        private float[] y = new float[1 << 16];
+        private float[] z = new float[1 << 16];
+        private int[] region = new int[1 << 16];
+        private int[] nameStart = new int[1 << 16];
+        private byte[] names = new byte[1 << 20];
+        private int nameLength;
+        private int size;
+        private final Map<String, Integer> regionIds = new HashMap<>();
+        private final List<String> regionLabels = new ArrayList<>();
+
+        int region(String key, Supplier<String> label) {
+            Integer id = regionIds.get(key);
+            if (id == null) {
+                id = regionLabels.size();
+                regionIds.put(key, id);
+                regionLabels.add(label.get());
+            }
+            return id;
+        }
+
+        void add(MappedByteBuffer buffer, int nameFrom, int nameTo, double latitude, double longitude, int regionId) {
+            if (size == x.length) {
+                int capacity = size * 2;
+                x = Arrays.copyOf(x, capacity);
+                y = Arrays.copyOf(y, capacity);
+                z = Arrays.copyOf(z, capacity);
+                region = Arrays.copyOf(region, capacity);
+                nameStart = Arrays.copyOf(nameStart, capacity);
+            }
+            int length = nameTo - nameFrom;
+            if (nameLength + length > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, nameLength + length));
+            }
+            buffer.get(nameFrom, names, nameLength, length);
+
+            double lat = Math.toRadians(latitude);
+            double lon = Math.toRadians(longitude);
+            x[size] = (float) (Math.cos(lat) * Math.cos(lon));
+            y[size] = (float) (Math.cos(lat) * Math.sin(lon));
+            z[size] = (float) Math.sin(lat);
+            region[size] = regionId;
+            nameStart[size] = nameLength;
+            nameLength += length;
+            size++;
+        }
+
+        PlaceIndex build() {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            arrange(order, 0, size, 0);
+
+            float[] tx = new float[size];
+            float[] ty = new float[size];
+            float[] tz = new float[size];
+            int[] tRegion = new int[size];
+            int[] tNameStart = new int[size + 1];
+            byte[] tNames = new byte[nameLength];
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                int p = order[i];
+                tx[i] = x[p];
+                ty[i] = y[p];
+                tz[i] = z[p];
+                tRegion[i] = region[p];
+                int length = (p + 1 < size ? nameStart[p + 1] : nameLength) - nameStart[p];
+                System.arraycopy(names, nameStart[p], tNames, offset, length);
+                tNameStart[i] = offset;
+                offset += length;
+            }
+            tNameStart[size] = offset;
+            return new PlaceIndex(tx, ty, tz, tNameStart, tNames, tRegion, regionLabels.toArray(String[]::new));
+        }
+
+        // Puts the median of [lo, hi) on the given axis at the middle, then recurses into both halves
+        private void arrange(int[] order, int lo, int hi, int axis) {
+            while (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                select(order, lo, hi - 1, mid, axis == 0 ? x : axis == 1 ? y : z);
+                int next = axis == 2 ? 0 : axis + 1;
+                arrange(order, mid + 1, hi, next);
+                hi = mid;
+                axis = next;
+            }
+        }
+
+        // Hoare quickselect: afterwards order[k] holds the k-th smallest key of [left, right]
+        private static void select(int[] order, int left, int right, int k, float[] keys) {
+            while (left < right) {
+                float pivot = keys[order[(left + right) >>> 1]];
+                int i = left;
+                int j = right;
+                while (i <= j) {
+                    while (keys[order[i]] < pivot) {
+                        i++;
+                    }
+                    while (keys[order[j]] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int swap = order[i];
+                        order[i++] = order[j];
+                        order[j--] = swap;
+                    }
+                }
+                if (k <= j) {
+                    right = j;
+                } else if (k >= i) {
+                    left = i;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.eventconnect.server.service;
+
+/**
+ * Backend for per-user booking rate limits.
+ * Selected with app.rate-limit.backend: "memory" (default, per node) or "jdbc" (shared across nodes).
+ */
+public interface RateLimiter {
+
+    /**
+     * Consumes one permit for the key, returning false when the limit is exhausted.
+     */
+    boolean tryAcquire(String key);
+}
@@ -0,0 +1,218 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.cache.TtlCache;
+import com.eventconnect.server.exception.BadRequestException;
+import com.eventconnect.server.security.JwtUtils;
+import com.eventconnect.server.security.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-side state for refresh tokens, so they can be rotated and revoked.
+ *
+ * Each login starts a token family: one row holding the id (jti) of the family's only valid
+ * refresh token. A refresh swaps that id for a new one in a single conditional UPDATE, so a
+ * rotation costs one statement and no lookup. Presenting any older token of the family means it
+ * was copied, so the whole family is revoked. The one exception is the token rotated away just
+ * before, within a short grace window: a client that retries a refresh or sends it from two tabs
+ * gets the same token the first refresh returned, kept in memory for the window by presented id,
+ * and no new token is minted. A retry that reaches another node, or races the first refresh, is
+ * refused without revoking the family. Revoked families are also kept in memory until they
+ * expire, and tokens from them are rejected without touching the database. Expired families
+ * are deleted in bulk by a scheduled sweep.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS refresh_token_families (" +
+            "family_id UUID PRIMARY KEY, " +
+            "user_id BIGINT NOT NULL, " +
+            "current_token_id UUID NOT NULL, " +
+            "previous_token_id UUID, " +
+            "rotated_at TIMESTAMP, " +
+            "expires_at TIMESTAMP NOT NULL, " +
+            "revoked BOOLEAN NOT NULL DEFAULT FALSE)";
+
+    // For tables created before the grace window was added
+    private static final String ADD_PREVIOUS_TOKEN_SQL =
+            "ALTER TABLE refresh_token_families ADD COLUMN IF NOT EXISTS previous_token_id UUID";
+
+    private static final String ADD_ROTATED_AT_SQL =
+            "ALTER TABLE refresh_token_families ADD COLUMN IF NOT EXISTS rotated_at TIMESTAMP";
+
+    private static final String CREATE_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_refresh_token_families_user_id ON refresh_token_families (user_id)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO refresh_token_families (family_id, user_id, current_token_id, expires_at) VALUES (?, ?, ?, ?)";
+
+    private static final String ROTATE_SQL =
+            "UPDATE refresh_token_families " +
+            "SET previous_token_id = current_token_id, current_token_id = ?, rotated_at = ?, expires_at = ? " +
+            "WHERE family_id = ? AND current_token_id = ? AND revoked = FALSE AND expires_at > ?";
+
+    private static final String GRACE_SQL =
+            "SELECT COUNT(*) FROM refresh_token_families " +
+            "WHERE family_id = ? AND previous_token_id = ? AND rotated_at > ? AND revoked = FALSE AND expires_at > ?";
+
+    private static final String REVOKE_FAMILY_SQL =
+            "UPDATE refresh_token_families SET revoked = TRUE WHERE family_id = ?";
+
+    private static final String SWEEP_SQL =
+            "DELETE FROM refresh_token_families WHERE expires_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JwtUtils jwtUtils;
+
+    @Value("${app.jwt.refresh-expiration-ms}")
+    private long refreshExpiration;
+
+    @Value("${app.auth.refresh-tokens.reuse-grace-ms:10000}")
+    private long reuseGraceMs;
+
+    @Value("${app.auth.refresh-tokens.reply-cache-size:10000}")
+    private int replyCacheSize;
+
+    // Presented token id -> refresh token issued for it, for replays within the grace window
+    private TtlCache<UUID, String> replies;
+
+    // Revoked family id -> when its tokens would have expired anyway (epoch ms)
+    private final Map<UUID, Long> revokedFamilies = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        replies = new TtlCache<>(replyCacheSize, Duration.ofMillis(reuseGraceMs));
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.execute(ADD_PREVIOUS_TOKEN_SQL);
+        jdbcTemplate.execute(ADD_ROTATED_AT_SQL);
+        jdbcTemplate.execute(CREATE_INDEX_SQL);
+        jdbcTemplate.query("SELECT family_id, expires_at FROM refresh_token_families WHERE revoked = TRUE AND expires_at > ?",
+                rs -> {
+                    revokedFamilies.put(rs.getObject(1, UUID.class), rs.getTimestamp(2).getTime());
+                }, now());
+    }
+
+    /**
+     * Starts a new family for a fresh login and returns its first refresh token.
+     */
+    public String issue(UserDetails user, Long userId) {
+        UUID familyId = UUID.randomUUID();
+        UUID tokenId = UUID.randomUUID();
+        jdbcTemplate.update(INSERT_SQL, familyId, userId, tokenId, expiry());
+        return jwtUtils.generateRefreshToken(user, familyId, tokenId);
+    }
+
+    /**
+     * Replaces the presented refresh token with a new one of the same family.
+     */
+    public String rotate(VerifiedToken token, UserDetails user) {
+        UUID familyId = parse(token.familyId());
+        UUID tokenId = parse(token.tokenId());
+        if (familyId == null || tokenId == null) {
+            // Issued before tokens were tracked
+            throw invalid();
+        }
+        if (isRevoked(familyId)) {
+            throw invalid();
+        }
+
+        UUID nextId = UUID.randomUUID();
+        if (jdbcTemplate.update(ROTATE_SQL, nextId, now(), expiry(), familyId, tokenId, now()) == 1) {
+            String rotated = jwtUtils.generateRefreshToken(user, familyId, nextId);
+            replies.put(tokenId, rotated);
+            return rotated;
+        }
+
+        // A retry of the refresh that just rotated this token: repeat that refresh's answer
+        Integer recent = jdbcTemplate.queryForObject(GRACE_SQL, Integer.class, familyId, tokenId,
+                new Timestamp(System.currentTimeMillis() - reuseGraceMs), now());
+        if (recent != null && recent > 0) {
+            String reply = replies.get(tokenId);
+            if (reply != null) {
+                return reply;
+            }
+            log.info("Refresh token of family {} for {} retried without a reply on this node, refusing", familyId, token.subject());
+            throw invalid();
+        }
+
+        // The family is unknown, expired or revoked, or this token was already rotated:
+        // in the last case it has been replayed, so nobody gets to keep using the family
+        log.warn("Refresh token reuse or revoked family {} for {}, revoking", familyId, token.subject());
+        revokeFamily(familyId);
+        throw invalid();
+    }
+
+    public void revoke(VerifiedToken token) {
+        UUID familyId = parse(token.familyId());
+        if (familyId != null) {
+            revokeFamily(familyId);
+        }
+    }
+
+    // Signs the user out everywhere, e.g. after a password change
+    public void revokeAll(Long userId) {
+        jdbcTemplate.query("SELECT family_id, expires_at FROM refresh_token_families WHERE user_id = ? AND revoked = FALSE",
+                rs -> {
+                    revokedFamilies.put(rs.getObject(1, UUID.class), rs.getTimestamp(2).getTime());
+                }, userId);
+        jdbcTemplate.update("UPDATE refresh_token_families SET revoked = TRUE WHERE user_id = ?", userId);
+    }
+
+    public boolean isRevoked(UUID familyId) {
+        return revokedFamilies.containsKey(familyId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.refresh-tokens.sweep-interval-ms:3600000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        revokedFamilies.values().removeIf(expiresAt -> expiresAt < now);
+        try {
+            int deleted = jdbcTemplate.update(SWEEP_SQL, new Timestamp(now));
+            log.debug("Swept {} expired refresh token families", deleted);
+        } catch (DataAccessException e) {
+            log.warn("Failed to sweep refresh tokens: {}", e.getMessage());
+        }
+    }
+
+    private void revokeFamily(UUID familyId) {
+        jdbcTemplate.update(REVOKE_FAMILY_SQL, familyId);
+        // Kept for a full token lifetime, which covers every token the family could have issued
+        revokedFamilies.put(familyId, System.currentTimeMillis() + refreshExpiration);
+    }
+
+    private Timestamp expiry() {
+        return new Timestamp(System.currentTimeMillis() + refreshExpiration);
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    private static UUID parse(String id) {
+        try {
+            return id == null ? null : UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static BadRequestException invalid() {
+        return new BadRequestException("Invalid refresh token");
+    }
+}
@@ -0,0 +1,12 @@
+package com.eventconnect.server.service;
+
+import java.util.Optional;
+
+/**
+ * Resolves coordinates to a human readable place name.
+ * Returns empty when the lookup failed and is worth retrying later.
+ */
+public interface ReverseGeocoder {
+
+    Optional<String> reverseGeocode(double latitude, double longitude);
+}
@@ -0,0 +1,152 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.entity.Booking;
+import com.eventconnect.server.repository.BookingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases seat holds when they expire.
+ *
+ * Each hold is queued in a DelayQueue with its expiry time, so a single thread sleeps until the
+ * next hold is due instead of polling the bookings table. The queue is rebuilt from PENDING
+ * bookings on startup, and an infrequent sweep releases expired holds the queue doesn't know
+ * about (created on another node, or missed while it was down). Releasing is a conditional
+ * delete, so a hold confirmed at the last moment is left alone.
+ */
+@Slf4j
+@Service
+public class SeatHoldReaper {
+
+    private final BookingRepository bookingRepository;
+    private final SeatInventoryEngine seatInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.booking.hold.sweep-batch:500}")
+    private int sweepBatch;
+
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+    private Thread worker;
+
+    public SeatHoldReaper(BookingRepository bookingRepository,
+                          SeatInventoryEngine seatInventory,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.seatInventory = seatInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::run, "seat-hold-reaper");
+        worker.setDaemon(true);
+        worker.start();
+        Gauge.builder("booking.holds.scheduled", expiries, DelayQueue::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.interrupt();
+    }
+
+    public void schedule(Long bookingId, LocalDateTime expiresAt) {
+        long dueAt = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        expiries.add(new Expiry(bookingId, dueAt));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleExistingHolds() {
+        List<Booking> holds = bookingRepository.findPendingHolds();
+        holds.forEach(hold -> schedule(hold.getId(), hold.getHoldExpiresAt()));
+        if (!holds.isEmpty()) {
+            log.info("Scheduled expiry for {} open seat holds", holds.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.hold.sweep-interval-ms:60000}")
+    public void sweepExpiredHolds() {
+        int released = 0;
+        for (Long bookingId : bookingRepository.findExpiredHoldIds(LocalDateTime.now(), Limit.of(sweepBatch))) {
+            try {
+                if (release(bookingId)) {
+                    released++;
+                }
+            } catch (Exception e) {
+                log.warn("Failed to release seat hold {}: {}", bookingId, e.getMessage());
+            }
+        }
+        if (released > 0) {
+            log.info("Sweep released {} expired seat holds", released);
+        }
+    }
+
+    /**
+     * Releases the hold if it is still pending. Returns true if seats were returned.
+     */
+    public boolean release(Long bookingId) {
+        Boolean released = transactionTemplate.execute(status -> {
+            Booking hold = bookingRepository.findById(bookingId).orElse(null);
+            if (hold == null || bookingRepository.deleteHold(bookingId) == 0) {
+                return false;
+            }
+            seatInventory.release(hold.getEvent().getId(), hold.getNumberOfTickets());
+            return true;
+        });
+        return Boolean.TRUE.equals(released);
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Expiry expiry;
+            try {
+                expiry = expiries.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                if (release(expiry.bookingId())) {
+                    log.debug("Seat hold {} expired", expiry.bookingId());
+                }
+            } catch (Exception e) {
+                // Try again shortly; the hold stays PENDING until it is released
+                log.warn("Failed to release seat hold {}: {}", expiry.bookingId(), e.getMessage());
+                expiries.add(new Expiry(expiry.bookingId(), System.currentTimeMillis() + 5_000));
+            }
+        }
+    }
+
+    private record Expiry(Long bookingId, long dueAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((Expiry) other).dueAt);
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.exception.ServiceUnavailableException;
+import com.eventconnect.server.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional in-memory seat inventory for flash sales (app.inventory.engine.enabled=true).
+ *
+ * Events whose booking rate crosses a threshold are promoted: their remaining seats are split
+ * into striped counters and reserved lock-free, and the sold count is written back to
+ * Event.availableSeats in periodic batches instead of one row update per booking.
+ * Promotion and demotion happen under a row lock so bookings that went straight to SQL are
+ * never lost. On startup, seats are reconciled against confirmed bookings in case a crash
+ * dropped unflushed sales.
+ *
+ * Memory is authoritative for a promoted event, so a node only promotes an event after claiming
+ * its row in seat_inventory_leases, and renews the lease while it holds the event. Other nodes
+ * refuse direct sales for a leased event with a 503 instead of selling the same seats again, so
+ * hot events should still be routed to one node (by event id) when running several replicas.
+ * Lease expiry uses each node's clock; keep lease-ttl-ms well above the expected clock skew.
+ */
+@Slf4j
+@Service
+public class SeatInventoryEngine {
+
+    public enum Reservation {
+        RESERVED,
+        SOLD_OUT,
+        // Not held in memory; caller must use the SQL path
+        NOT_MANAGED
+    }
+
+    private static final String CREATE_LEASES_SQL =
+            "CREATE TABLE IF NOT EXISTS seat_inventory_leases (" +
+            "event_id BIGINT PRIMARY KEY, " +
+            "owner VARCHAR(64) NOT NULL, " +
+            "expires_at TIMESTAMP NOT NULL)";
+
+    // Takes over a lease that is ours or has expired
+    private static final String CLAIM_LEASE_SQL =
+            "UPDATE seat_inventory_leases SET owner = ?, expires_at = ? " +
+            "WHERE event_id = ? AND (owner = ? OR expires_at < ?)";
+
+    private static final String INSERT_LEASE_SQL =
+            "INSERT INTO seat_inventory_leases (event_id, owner, expires_at) VALUES (?, ?, ?)";
+
+    private static final String RENEW_LEASE_SQL =
+            "UPDATE seat_inventory_leases SET expires_at = ? WHERE event_id = ? AND owner = ?";
+
+    private static final String RELEASE_LEASE_SQL =
+            "DELETE FROM seat_inventory_leases WHERE event_id = ? AND owner = ?";
+
+    private static final String FOREIGN_LEASE_SQL =
+            "SELECT COUNT(*) FROM seat_inventory_leases WHERE event_id = ? AND owner <> ? AND expires_at > ?";
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.inventory.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.inventory.engine.stripes:8}")
+    private int stripeCount;
+
+    // Bookings per second that promote an event into memory; it is demoted below half of this
+    @Value("${app.inventory.engine.promote-threshold-per-sec:50}")
+    private int promoteThreshold;
+
+    // How long a node owns a hot event without renewing; renewed by the flush
+    @Value("${app.inventory.engine.lease-ttl-ms:10000}")
+    private long leaseTtlMs;
+
+    private final Map<Long, HotInventory> hotEvents = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> bookingAttempts = new ConcurrentHashMap<>();
+    private volatile long lastEvaluation = System.nanoTime();
+
+    public SeatInventoryEngine(EventRepository eventRepository, JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Own transactions, so a caller's persistence context never holds a copy of the row
+        // from before a flush or demotion, and rollback compensation can write after completion
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void init() {
+        if (enabled) {
+            jdbcTemplate.execute(CREATE_LEASES_SQL);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reserves seats from memory if the event is hot. A reservation made inside a transaction
+     * is returned to the pool automatically if that transaction rolls back.
+     */
+    public Reservation tryReserve(Long eventId, int tickets, LocalDateTime now) {
+        if (!enabled) {
+            return Reservation.NOT_MANAGED;
+        }
+        bookingAttempts.computeIfAbsent(eventId, k -> new LongAdder()).increment();
+
+        HotInventory inventory = hotEvents.get(eventId);
+        if (inventory == null || !inventory.eventDate.isAfter(now)
+                || inventory.leaseExpiresAt - System.nanoTime() <= 0) {
+            return Reservation.NOT_MANAGED;
+        }
+        if (!inventory.take(tickets)) {
+            return inventory.closed ? Reservation.NOT_MANAGED : Reservation.SOLD_OUT;
+        }
+        onRollback(() -> {
+            if (!giveIfOpen(inventory, tickets)) {
+                // Demotion already wrote these seats to the row as sold
+                transactionTemplate.executeWithoutResult(status -> eventRepository.applySoldSeats(eventId, -tickets));
+            }
+        });
+        return Reservation.RESERVED;
+    }
+
+    /**
+     * Called after a booking decremented the row directly. If the event was promoted while that
+     * booking waited for the row lock, the same seats are taken from memory so they aren't sold twice.
+     * Returns false if memory has no seats left to cover it; the caller must roll back.
+     * Throws if another node holds the event in memory, since its seats can't be checked here.
+     */
+    public boolean absorbDirectSale(Long eventId, int tickets) {
+        if (!enabled) {
+            return true;
+        }
+        HotInventory inventory = hotEvents.get(eventId);
+        if (inventory == null) {
+            // The caller holds the row lock, so no lease can be claimed until it commits
+            if (isLeasedElsewhere(eventId)) {
+                throw new ServiceUnavailableException("Tickets for this event are being sold by another server, please retry");
+            }
+            return true;
+        }
+        if (!inventory.take(tickets)) {
+            return false;
+        }
+        inventory.persistedDirectly.addAndGet(tickets);
+        onRollback(() -> {
+            // Under the flush lock so a flush never sees the seats returned but not yet unpersisted.
+            // After demotion there's nothing to do: the rollback restored the row itself.
+            inventory.flushLock.lock();
+            try {
+                inventory.persistedDirectly.addAndGet(-tickets);
+                inventory.give(tickets);
+            } finally {
+                inventory.flushLock.unlock();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Returns seats from a released hold: into memory if the event is hot, otherwise to the row.
+     */
+    public void release(Long eventId, int tickets) {
+        HotInventory inventory = enabled ? hotEvents.get(eventId) : null;
+        if (inventory == null || !giveIfOpen(inventory, tickets)) {
+            eventRepository.applySoldSeats(eventId, -tickets);
+        }
+    }
+
+    public OptionalInt availableSeats(Long eventId) {
+        HotInventory inventory = enabled ? hotEvents.get(eventId) : null;
+        return inventory == null ? OptionalInt.empty() : OptionalInt.of(inventory.remaining());
+    }
+
+    /**
+     * Flushes and drops an event, e.g. when it is deleted or its date changes. Call it before
+     * loading the event in the caller's transaction so the entity isn't stale. It is dropped
+     * again after the caller commits in case it was promoted from the old row in between.
+     */
+    public void evict(Long eventId) {
+        if (!enabled) {
+            return;
+        }
+        if (hotEvents.containsKey(eventId)) {
+            demote(eventId);
+        }
+        afterCommit(() -> {
+            if (hotEvents.containsKey(eventId)) {
+                demote(eventId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.engine.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        hotEvents.forEach((eventId, inventory) -> {
+            if (!inventory.closed && inventory.leaseExpiresAt - System.nanoTime() < leaseTtlNanos() / 2) {
+                renewLease(eventId, inventory);
+            }
+            if (inventory.closed || inventory.unflushedSold(inventory.remaining()) == 0) {
+                return;
+            }
+            // Same lock order as demote(): row lock first, then the in-memory flush lock
+            transactionTemplate.executeWithoutResult(status -> {
+                eventRepository.findByIdForUpdate(eventId);
+                inventory.flushLock.lock();
+                try {
+                    int sold = inventory.closed ? 0 : inventory.unflushedSold(inventory.remaining());
+                    if (sold != 0) {
+                        eventRepository.applySoldSeats(eventId, sold);
+                        inventory.flushedSold += sold;
+                    }
+                } finally {
+                    inventory.flushLock.unlock();
+                }
+            });
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.engine.evaluate-interval-ms:1000}")
+    public void evaluateHotEvents() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        double seconds = Math.max((now - lastEvaluation) / 1e9, 0.001);
+        lastEvaluation = now;
+
+        Map<Long, Long> rates = new HashMap<>();
+        bookingAttempts.forEach((eventId, count) -> rates.put(eventId, count.sum()));
+        bookingAttempts.clear();
+
+        rates.forEach((eventId, count) -> {
+            double rate = count / seconds;
+            if (rate >= promoteThreshold && !hotEvents.containsKey(eventId)) {
+                promote(eventId);
+            }
+        });
+        for (Long eventId : hotEvents.keySet()) {
+            if (rates.getOrDefault(eventId, 0L) / seconds < promoteThreshold / 2.0) {
+                demote(eventId);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Seat inventory reconciliation corrected {} events", reconcile());
+    }
+
+    /**
+     * Resets drifted seat counts from the bookings table, one event at a time under its row lock
+     * so bookings committing meanwhile are counted once. Events leased by a running node are
+     * skipped; their unflushed sales aren't in the row yet.
+     */
+    public int reconcile() {
+        int fixed = 0;
+        for (Long eventId : eventRepository.findEventIdsToReconcile(LocalDateTime.now())) {
+            Integer updated = transactionTemplate.execute(status -> {
+                eventRepository.findByIdForUpdate(eventId);
+                return eventRepository.reconcileAvailableSeats(eventId, LocalDateTime.now());
+            });
+            fixed += updated == null ? 0 : updated;
+        }
+        return fixed;
+    }
+
+    private void promote(Long eventId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+            if (event == null || !event.getIsActive() || event.getAvailableSeats() == 0
+                    || !event.getDate().isAfter(LocalDateTime.now())) {
+                return;
+            }
+            long leaseStart = System.nanoTime();
+            if (!claimLease(eventId)) {
+                log.debug("Event {} is held in memory by another node", eventId);
+                return;
+            }
+            // Installed while the row is locked: direct bookings queued behind us will absorb
+            HotInventory inventory = new HotInventory(event.getAvailableSeats(), stripeCount, event.getDate());
+            inventory.leaseExpiresAt = leaseStart + leaseTtlNanos();
+            hotEvents.put(eventId, inventory);
+            log.info("Event {} promoted to in-memory inventory with {} seats", eventId, event.getAvailableSeats());
+        });
+    }
+
+    private boolean claimLease(Long eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseTtlMs, ChronoUnit.MILLIS);
+        if (jdbcTemplate.update(CLAIM_LEASE_SQL, nodeId, expiresAt, eventId, nodeId, now) == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_LEASE_SQL, eventId, nodeId, expiresAt) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void renewLease(Long eventId, HotInventory inventory) {
+        long renewStart = System.nanoTime();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(leaseTtlMs, ChronoUnit.MILLIS);
+        if (jdbcTemplate.update(RENEW_LEASE_SQL, expiresAt, eventId, nodeId) == 1) {
+            inventory.leaseExpiresAt = renewStart + leaseTtlNanos();
+            return;
+        }
+        // Another node took over after our lease lapsed; stop selling and write back what we sold
+        log.warn("Lost seat inventory lease for event {}, demoting", eventId);
+        demote(eventId);
+    }
+
+    private boolean isLeasedElsewhere(Long eventId) {
+        Long leases = jdbcTemplate.queryForObject(FOREIGN_LEASE_SQL, Long.class, eventId, nodeId, LocalDateTime.now());
+        return leases != null && leases > 0;
+    }
+
+    private long leaseTtlNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(leaseTtlMs);
+    }
+
+    private void demote(Long eventId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.findByIdForUpdate(eventId);
+            HotInventory inventory = hotEvents.get(eventId);
+            if (inventory == null) {
+                return;
+            }
+            inventory.flushLock.lock();
+            try {
+                int leftover = inventory.close();
+                int sold = inventory.unflushedSold(leftover);
+                if (sold != 0) {
+                    eventRepository.applySoldSeats(eventId, sold);
+                }
+                hotEvents.remove(eventId);
+                jdbcTemplate.update(RELEASE_LEASE_SQL, eventId, nodeId);
+                log.info("Event {} demoted from in-memory inventory with {} seats left", eventId, leftover);
+            } finally {
+                inventory.flushLock.unlock();
+            }
+        });
+    }
+
+    // Returns seats to memory unless demotion already closed it; false means they belong to the row
+    private static boolean giveIfOpen(HotInventory inventory, int tickets) {
+        inventory.flushLock.lock();
+        try {
+            if (inventory.closed) {
+                return false;
+            }
+            inventory.give(tickets);
+            return true;
+        } finally {
+            inventory.flushLock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void onRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+
+    private static final class HotInventory {
+        private final StripedSeatCounter seats;
+        private final int loadedSeats;
+        private final LocalDateTime eventDate;
+        // Seats the row already reflects because the booking went through SQL
+        private final AtomicInteger persistedDirectly = new AtomicInteger();
+        // Guards flushedSold between the scheduled flush and demotion
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private int flushedSold;
+        private volatile boolean closed;
+        // System.nanoTime() after which this node must stop selling unless the lease was renewed
+        private volatile long leaseExpiresAt;
+
+        HotInventory(int seats, int stripeCount, LocalDateTime eventDate) {
+            this.seats = new StripedSeatCounter(seats, stripeCount);
+            this.loadedSeats = seats;
+            this.eventDate = eventDate;
+        }
+
+        boolean take(int tickets) {
+            return seats.take(tickets);
+        }
+
+        void give(int tickets) {
+            seats.give(tickets);
+        }
+
+        int remaining() {
+            return seats.remaining();
+        }
+
+        int unflushedSold(int remaining) {
+            return loadedSeats - remaining - persistedDirectly.get() - flushedSold;
+        }
+
+        /**
+         * Stops further reservations and returns the seats that were left.
+         */
+        int close() {
+            closed = true;
+            return seats.drain();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.eventconnect.server.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Seat count split over several atomic counters, so concurrent buyers of one event mostly
+ * update different counters instead of contending on a single one (or on the event's row).
+ * Used by SeatInventoryEngine for events held in memory.
+ */
+public class StripedSeatCounter {
+
+    private final AtomicIntegerArray stripes;
+
+    public StripedSeatCounter(int seats, int stripeCount) {
+        this.stripes = new AtomicIntegerArray(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.set(i, seats / stripeCount + (i < seats % stripeCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Takes the seats if enough are left, all or nothing.
+     */
+    public boolean take(int tickets) {
+        int n = stripes.length();
+        int start = ThreadLocalRandom.current().nextInt(n);
+
+        // Fast path: one stripe covers the whole request
+        for (int i = 0; i < n; i++) {
+            int stripe = (start + i) % n;
+            int current;
+            while ((current = stripes.get(stripe)) >= tickets) {
+                if (stripes.compareAndSet(stripe, current, current - tickets)) {
+                    return true;
+                }
+            }
+        }
+
+        // Slow path: gather from several stripes, putting everything back if it isn't enough
+        int taken = 0;
+        for (int i = 0; i < n && taken < tickets; i++) {
+            int stripe = (start + i) % n;
+            int current;
+            while ((current = stripes.get(stripe)) > 0) {
+                int part = Math.min(current, tickets - taken);
+                if (stripes.compareAndSet(stripe, current, current - part)) {
+                    taken += part;
+                    break;
+                }
+            }
+        }
+        if (taken == tickets) {
+            return true;
+        }
+        give(taken);
+        return false;
+    }
+
+    public void give(int tickets) {
+        if (tickets > 0) {
+            stripes.addAndGet(ThreadLocalRandom.current().nextInt(stripes.length()), tickets);
+        }
+    }
+
+    public int remaining() {
+        int sum = 0;
+        for (int i = 0; i < stripes.length(); i++) {
+            sum += stripes.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Empties every stripe and returns the seats that were left.
+     */
+    public int drain() {
+        int leftover = 0;
+        for (int i = 0; i < stripes.length(); i++) {
+            leftover += stripes.getAndSet(i, 0);
+        }
+        return leftover;
+    }
+}
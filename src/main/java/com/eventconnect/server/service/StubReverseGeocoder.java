@@ -0,0 +1,22 @@
+package com.eventconnect.server.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Local geocoder that never leaves the JVM.
+ * Enable with app.geocoding.provider=stub for tests and offline development.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "app.geocoding.provider", havingValue = "stub")
+public class StubReverseGeocoder implements ReverseGeocoder {
+
+    @Override
+    public Optional<String> reverseGeocode(double latitude, double longitude) {
+        return Optional.of(String.format("Stub City (%.2f, %.2f)", latitude, longitude));
+    }
+}
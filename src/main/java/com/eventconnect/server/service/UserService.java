@@ -7,6 +7,7 @@ import com.eventconnect.server.entity.User;
 import com.eventconnect.server.exception.BadRequestException;
 import com.eventconnect.server.exception.ResourceNotFoundException;
 import com.eventconnect.server.repository.UserRepository;
+import com.eventconnect.server.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -18,6 +19,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenStore refreshTokenStore;
 
     public UserProfileDto getUserProfile(String email) {
         User user = userRepository.findByEmail(email)
@@ -48,6 +51,7 @@ public class UserService {
         user.setEmail(request.getEmail());
 
         User updatedUser = userRepository.save(user);
+        principalCache.evict(updatedUser.getId());
 
         return UserProfileDto.builder()
                 .id(updatedUser.getId())
@@ -79,5 +83,9 @@ public class UserService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.evict(user.getId());
+        // Sign out every session, this one included: the caller keeps their access token until
+        // it expires, then has to log in again with the new password
+        refreshTokenStore.revokeAll(user.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.eventconnect.server.benchmark;
+
+import com.eventconnect.server.service.EventSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search latency of the LIKE query versus the tsvector/GIN query at 10k, 100k and 1M
+ * events. Each search fetches one page of 10 plus the total count, like GET /api/v1/events.
+ *
+ * Needs PostgreSQL:
+ *   -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/event_db -Dbench.jdbc.user=postgres -Dbench.jdbc.password=postgres
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.eventconnect.server.benchmark.EventSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "neon", "dreams", "jazz", "summit", "startup", "pitch", "expo", "marathon", "comedy", "night",
+            "festival", "workshop", "bootcamp", "gala", "symphony", "hackathon", "derby", "carnival"
+    };
+    private static final String[] CITIES = {"Mumbai", "Bangalore", "Delhi", "Goa", "Pune", "Chennai", "Kolkata"};
+    private static final String[] CATEGORIES = {"Music", "Technology", "Business", "Art", "Sports", "Comedy"};
+
+    private static final String LIKE_SQL =
+            "SELECT id, title FROM bench_search_events WHERE is_active AND date > now() AND (" +
+            "LOWER(title) LIKE ? OR LOWER(location) LIKE ? OR LOWER(category) LIKE ?) ORDER BY date LIMIT 10";
+    private static final String LIKE_COUNT_SQL =
+            "SELECT COUNT(*) FROM bench_search_events WHERE is_active AND date > now() AND (" +
+            "LOWER(title) LIKE ? OR LOWER(location) LIKE ? OR LOWER(category) LIKE ?)";
+    private static final String FULL_TEXT_SQL =
+            "SELECT id, title FROM bench_search_events WHERE is_active AND date > now() " +
+            "AND search_vector @@ to_tsquery('simple', ?) " +
+            "ORDER BY ts_rank(search_vector, to_tsquery('simple', ?)) DESC, date LIMIT 10";
+    private static final String FULL_TEXT_COUNT_SQL =
+            "SELECT COUNT(*) FROM bench_search_events WHERE is_active AND date > now() " +
+            "AND search_vector @@ to_tsquery('simple', ?)";
+
+    @Param({"10000", "100000", "1000000"})
+    public int events;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("bench.jdbc.url");
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("Set -Dbench.jdbc.url to a PostgreSQL database");
+        }
+        connection = DriverManager.getConnection(url,
+                System.getProperty("bench.jdbc.user", "postgres"),
+                System.getProperty("bench.jdbc.password", "postgres"));
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_search_events");
+            ddl.execute("CREATE TABLE bench_search_events (id BIGINT PRIMARY KEY, title VARCHAR(255), " +
+                    "category VARCHAR(100), location VARCHAR(255), date TIMESTAMP, is_active BOOLEAN)");
+            ddl.execute("INSERT INTO bench_search_events " +
+                    "SELECT g, " + pick(WORDS, "g") + " || ' ' || " + pick(WORDS, "g / 7") + " || ' ' || g, " +
+                    pick(CATEGORIES, "g") + ", " + pick(CITIES, "g / 3") + " || ', India', " +
+                    "now() + (g % 365) * interval '1 day', g % 20 <> 0 " +
+                    "FROM generate_series(1, " + events + ") g");
+            ddl.execute("ALTER TABLE bench_search_events ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('simple', coalesce(title, '')), 'A') || " +
+                    "setweight(to_tsvector('simple', coalesce(category, '')), 'B') || " +
+                    "setweight(to_tsvector('simple', coalesce(location, '')), 'B')) STORED");
+            ddl.execute("CREATE INDEX ON bench_search_events USING GIN (search_vector)");
+            ddl.execute("CREATE INDEX ON bench_search_events (date)");
+            ddl.execute("ANALYZE bench_search_events");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_search_events");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeSearch(Blackhole blackhole) throws SQLException {
+        String pattern = "%" + keyword() + "%";
+        run(LIKE_SQL, blackhole, pattern, pattern, pattern);
+        run(LIKE_COUNT_SQL, blackhole, pattern, pattern, pattern);
+    }
+
+    @Benchmark
+    public void fullTextSearch(Blackhole blackhole) throws SQLException {
+        String query = EventSearchIndex.toPrefixQuery(keyword());
+        run(FULL_TEXT_SQL, blackhole, query, query);
+        run(FULL_TEXT_COUNT_SQL, blackhole, query);
+    }
+
+    // A word or the first letters of one, as users type it
+    private static String keyword() {
+        String word = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+        return ThreadLocalRandom.current().nextBoolean() ? word : word.substring(0, 3);
+    }
+
+    private void run(String sql, Blackhole blackhole, String... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setString(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    blackhole.consume(rs.getString(1));
+                }
+            }
+        }
+    }
+
+    // SQL expression choosing an element of values by (expression mod length)
+    private static String pick(String[] values, String expression) {
+        return "(ARRAY['" + String.join("','", values) + "'])[((" + expression + ") % " + values.length + ") + 1]";
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(EventSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,179 @@
+package com.eventconnect.server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput with IDENTITY ids (one round trip per row, keys read back) versus pooled
+ * sequence ids (one nextval per 50 rows, rows sent with JDBC batching), for bulk event creation
+ * and booking bursts. An approximation in plain JDBC: it issues the statement shapes Hibernate
+ * uses for each strategy and the pooled optimizer's id arithmetic, but skips the persistence
+ * context, dirty checking and flush, so absolute numbers are higher than through an
+ * EntityManager. Use it to compare the two strategies, not to predict request throughput.
+ *
+ * Uses in-memory H2 by default; point it at PostgreSQL with
+ *   -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/event_db?reWriteBatchedInserts=true
+ *   -Dbench.jdbc.user=postgres -Dbench.jdbc.password=postgres
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.eventconnect.server.benchmark.IdGenerationBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class IdGenerationBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Param({"identity", "pooled"})
+    public String strategy;
+
+    // Rows written per transaction: a bulk event import or a group-committed booking burst
+    @Param({"20", "200"})
+    public int rows;
+
+    private Connection connection;
+    private long nextId;
+    private long blockEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:h2:mem:idbench;MODE=PostgreSQL"),
+                System.getProperty("bench.jdbc.user", "sa"),
+                System.getProperty("bench.jdbc.password", ""));
+        connection.setAutoCommit(false);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_bookings");
+            ddl.execute("DROP TABLE IF EXISTS bench_events");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_events_seq");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_bookings_seq");
+            String idColumn = strategy.equals("identity")
+                    ? "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY"
+                    : "id BIGINT PRIMARY KEY";
+            ddl.execute("CREATE TABLE bench_events (" + idColumn + ", title VARCHAR(255), date TIMESTAMP, "
+                    + "capacity INT, available_seats INT)");
+            ddl.execute("CREATE TABLE bench_bookings (" + idColumn + ", event_id BIGINT, booking_date TIMESTAMP, "
+                    + "number_of_tickets INT, status VARCHAR(50))");
+            ddl.execute("CREATE SEQUENCE bench_events_seq INCREMENT BY " + ALLOCATION_SIZE);
+            ddl.execute("CREATE SEQUENCE bench_bookings_seq INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long createEvents() throws SQLException {
+        String sql = "INSERT INTO bench_events (%stitle, date, capacity, available_seats) VALUES (%s?, ?, ?, ?)";
+        return insert(sql, "bench_events_seq", (statement, first, i) -> {
+            statement.setString(first, "Event " + i);
+            statement.setTimestamp(first + 1, Timestamp.valueOf(LocalDateTime.now().plusDays(30)));
+            statement.setInt(first + 2, 500);
+            statement.setInt(first + 3, 500);
+        });
+    }
+
+    @Benchmark
+    public long bookingBurst() throws SQLException {
+        String sql = "INSERT INTO bench_bookings (%sevent_id, booking_date, number_of_tickets, status) VALUES (%s?, ?, ?, ?)";
+        return insert(sql, "bench_bookings_seq", (statement, first, i) -> {
+            statement.setLong(first, 1);
+            statement.setTimestamp(first + 1, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setInt(first + 2, 2);
+            statement.setString(first + 3, "CONFIRMED");
+        });
+    }
+
+    private long insert(String template, String sequence, RowBinder binder) throws SQLException {
+        long lastId = 0;
+        if (strategy.equals("identity")) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    String.format(template, "", ""), Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < rows; i++) {
+                    binder.bind(statement, 1, i);
+                    statement.executeUpdate();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        keys.next();
+                        lastId = keys.getLong(1);
+                    }
+                }
+            }
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement(String.format(template, "id, ", "?, "))) {
+                for (int i = 0; i < rows; i++) {
+                    lastId = nextPooledId(sequence);
+                    statement.setLong(1, lastId);
+                    binder.bind(statement, 2, i);
+                    statement.addBatch();
+                    if ((i + 1) % ALLOCATION_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    // Same arithmetic as Hibernate's pooled optimizer: nextval is the top of a block, so ids run
+    // (nextval - 49 .. nextval). On a fresh sequence the first nextval is the initial value itself,
+    // which becomes the first id, and a second nextval supplies the top of that first block.
+    private long nextPooledId(String sequence) throws SQLException {
+        if (nextId == 0) {
+            nextId = nextval(sequence);
+            blockEnd = nextval(sequence);
+        } else if (nextId > blockEnd) {
+            blockEnd = nextval(sequence);
+            nextId = blockEnd - ALLOCATION_SIZE + 1;
+        }
+        return nextId++;
+    }
+
+    private long nextval(String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT nextval('" + sequence + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        // first is the index of the first non-id parameter
+        void bind(PreparedStatement statement, int first, int row) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(IdGenerationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
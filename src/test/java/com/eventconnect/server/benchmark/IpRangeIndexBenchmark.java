@@ -0,0 +1,135 @@
+package com.eventconnect.server.benchmark;
+
+import com.eventconnect.server.service.IpRangeIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups per second on IpRangeIndex over a synthetic database the size of DB-IP City Lite
+ * (1M IPv4 and 500k IPv6 ranges), against a baseline of InetAddress parsing plus TreeMap.floorEntry.
+ * Run with -prof gc to confirm the index lookups allocate nothing per operation.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.eventconnect.server.benchmark.IpRangeIndexBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IpRangeIndexBenchmark {
+
+    private static final int V4_RANGES = 1_000_000;
+    private static final int V6_RANGES = 500_000;
+    private static final int QUERIES = 1 << 16;
+
+    private Path file;
+    private IpRangeIndex index;
+    private TreeMap<Long, long[]> treeMap;
+    private String[] v4Queries;
+    private String[] v6Queries;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(11);
+        file = Files.createTempFile("ip-ranges", ".csv");
+        treeMap = new TreeMap<>();
+        long v4Step = (1L << 32) / V4_RANGES;
+        BigInteger v6Base = new BigInteger("20010000000000000000000000000000", 16);
+        BigInteger v6Step = BigInteger.ONE.shiftLeft(96);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < V4_RANGES; i++) {
+                long start = i * v4Step;
+                long end = start + v4Step - 1;
+                writer.write(v4(start) + "," + v4(end) + ",EU,DE,Berlin,\"City " + (i % 5000) + "\",52.52,13.405\n");
+                treeMap.put(start, new long[]{end, i % 5000});
+            }
+            for (int i = 0; i < V6_RANGES; i++) {
+                BigInteger start = v6Base.add(v6Step.multiply(BigInteger.valueOf(i)));
+                BigInteger end = start.add(v6Step).subtract(BigInteger.ONE);
+                writer.write(v6(start) + "," + v6(end) + ",EU,DE,Berlin,\"City " + (i % 5000) + "\",52.52,13.405\n");
+            }
+        }
+        index = IpRangeIndex.load(file);
+
+        v4Queries = new String[QUERIES];
+        v6Queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            v4Queries[i] = v4(random.nextLong() & 0xffffffffL);
+            BigInteger address = v6Base.add(v6Step.multiply(BigInteger.valueOf(random.nextInt(V6_RANGES))))
+                    .add(BigInteger.valueOf(random.nextLong() & Long.MAX_VALUE));
+            v6Queries[i] = v6(address).replaceFirst("(^|:)0(:0)+(:|$)", "::");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String indexV4() {
+        return index.lookup(v4Queries[ThreadLocalRandom.current().nextInt(QUERIES)]);
+    }
+
+    @Benchmark
+    public String indexV6() {
+        return index.lookup(v6Queries[ThreadLocalRandom.current().nextInt(QUERIES)]);
+    }
+
+    @Benchmark
+    public long[] treeMapV4() throws IOException {
+        byte[] bytes = InetAddress.getByName(v4Queries[ThreadLocalRandom.current().nextInt(QUERIES)]).getAddress();
+        long address = ((bytes[0] & 0xffL) << 24) | ((bytes[1] & 0xffL) << 16) | ((bytes[2] & 0xffL) << 8) | (bytes[3] & 0xffL);
+        Map.Entry<Long, long[]> entry = treeMap.floorEntry(address);
+        return entry != null && address <= entry.getValue()[0] ? entry.getValue() : null;
+    }
+
+    private static String v4(long address) {
+        return (address >>> 24) + "." + ((address >>> 16) & 0xff) + "." + ((address >>> 8) & 0xff) + "." + (address & 0xff);
+    }
+
+    private static String v6(BigInteger address) {
+        StringBuilder text = new StringBuilder();
+        for (int group = 7; group >= 0; group--) {
+            text.append(Integer.toHexString(address.shiftRight(group * 16).intValue() & 0xffff));
+            if (group > 0) {
+                text.append(':');
+            }
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(IpRangeIndexBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
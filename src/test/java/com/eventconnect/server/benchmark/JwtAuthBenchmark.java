@@ -0,0 +1,110 @@
+package com.eventconnect.server.benchmark;
+
+import com.eventconnect.server.config.JwtProperties;
+import com.eventconnect.server.entity.Role;
+import com.eventconnect.server.entity.User;
+import com.eventconnect.server.security.JwtKeySet;
+import com.eventconnect.server.security.JwtUtils;
+import com.eventconnect.server.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token cost in JwtAuthenticationFilter: the previous three-parse flow against a
+ * single parse with the shared parser, and a repeat request served from the verified-token cache.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.eventconnect.server.benchmark.JwtAuthBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1ldmVudGNvbm5lY3QtdW5pdC10ZXN0cy0wMTIz";
+
+    private String token;
+    private JwtUtils uncached;
+    private JwtUtils cached;
+
+    @Setup
+    public void setUp() {
+        uncached = jwtUtils(0);
+        cached = jwtUtils(10_000);
+        User user = User.builder().id(1L).name("Bench").email("bench@example.com").password("x").role(Role.USER).build();
+        token = cached.generateToken(user);
+    }
+
+    private static JwtUtils jwtUtils(int cacheSize) {
+        JwtProperties properties = new JwtProperties("HS256", SECRET, 900_000L, 604_800_000L,
+                new JwtProperties.VerifiedCache(cacheSize, 60), new JwtProperties.Keys("", ""));
+        JwtUtils utils = new JwtUtils(new SimpleMeterRegistry(), new JwtKeySet(properties), properties);
+        ReflectionTestUtils.invokeMethod(utils, "init");
+        return utils;
+    }
+
+    @Benchmark
+    public boolean legacyThreeParses() {
+        return LegacyJwt.isValid(token);
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return uncached.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public VerifiedToken cachedRepeatRequest() {
+        return cached.verify(token).orElseThrow();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * The previous flow: extractUsername, then isTokenValid re-extracting the username and the
+     * expiry, each decoding the key and building a new parser. Kept here only as a baseline.
+     */
+    static final class LegacyJwt {
+
+        static boolean isValid(String token) {
+            String username = claims(token).getSubject();
+            return username.equals(claims(token).getSubject()) && !claims(token).getExpiration().before(new Date());
+        }
+
+        private static Claims claims(String token) {
+            return Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody();
+        }
+
+        private static Key key() {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        }
+    }
+}
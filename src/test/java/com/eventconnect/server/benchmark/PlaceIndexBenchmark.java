@@ -0,0 +1,126 @@
+package com.eventconnect.server.benchmark;
+
+import com.eventconnect.server.service.PlaceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups per second on the offline PlaceIndex, over a synthetic GeoNames file the size of cities500.txt.
+ * Places cluster around a few thousand centres, like towns around cities; "nearPlace" queries land within
+ * a few km of a place (a booking at an event venue), "anywhere" queries are uniform over the globe and
+ * mostly fall outside the 50 km radius. "load" is the startup cost of mapping and indexing the file.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.eventconnect.server.benchmark.PlaceIndexBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlaceIndexBenchmark {
+
+    private static final int PLACES = 200_000;
+    private static final int CENTRES = 5_000;
+    private static final int QUERIES = 1 << 16;
+
+    private Path file;
+    private PlaceIndex index;
+    private double[] nearLatitudes;
+    private double[] nearLongitudes;
+    private double[] anyLatitudes;
+    private double[] anyLongitudes;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(7);
+        double[][] centres = new double[CENTRES][];
+        for (int i = 0; i < CENTRES; i++) {
+            centres[i] = uniform(random);
+        }
+        double[] latitudes = new double[PLACES];
+        double[] longitudes = new double[PLACES];
+        file = Files.createTempFile("cities", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < PLACES; i++) {
+                double[] centre = centres[random.nextInt(CENTRES)];
+                latitudes[i] = Math.max(-90, Math.min(90, centre[0] + random.nextGaussian()));
+                longitudes[i] = centre[1] + random.nextGaussian();
+                writer.write(i + "\tPlace " + i + "\tPlace " + i + "\t\t" + latitudes[i] + "\t" + longitudes[i]
+                        + "\tP\tPPL\tIN\t\t16\t\t\t\t1000\t\t10\tAsia/Kolkata\t2024-01-01\n");
+            }
+        }
+        index = PlaceIndex.load(file, null, null);
+
+        nearLatitudes = new double[QUERIES];
+        nearLongitudes = new double[QUERIES];
+        anyLatitudes = new double[QUERIES];
+        anyLongitudes = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int place = random.nextInt(PLACES);
+            nearLatitudes[i] = latitudes[place] + random.nextGaussian() * 0.02;
+            nearLongitudes[i] = longitudes[place] + random.nextGaussian() * 0.02;
+            double[] any = uniform(random);
+            anyLatitudes[i] = any[0];
+            anyLongitudes[i] = any[1];
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String nearPlace() {
+        int i = ThreadLocalRandom.current().nextInt(QUERIES);
+        return index.nearest(nearLatitudes[i], nearLongitudes[i], 50);
+    }
+
+    @Benchmark
+    public String anywhere() {
+        int i = ThreadLocalRandom.current().nextInt(QUERIES);
+        return index.nearest(anyLatitudes[i], anyLongitudes[i], 50);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public PlaceIndex load() throws IOException {
+        return PlaceIndex.load(file, null, null);
+    }
+
+    private static double[] uniform(Random random) {
+        return new double[]{Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)), random.nextDouble() * 360 - 180};
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PlaceIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.eventconnect.server.benchmark;
+
+import com.eventconnect.server.config.RateLimitProperties;
+import com.eventconnect.server.service.InMemoryRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the GCRA InMemoryRateLimiter against the previous synchronized-list implementation.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.eventconnect.server.benchmark.RateLimiterBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final String HOT_USER = "hot@example.com";
+
+    private String[] users;
+    private InMemoryRateLimiter current;
+    private LegacyRateLimiter legacy;
+
+    @Setup
+    public void setUp() {
+        users = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = "user" + i + "@example.com";
+        }
+        current = new InMemoryRateLimiter(new RateLimitProperties(5, 60, new RateLimitProperties.Jdbc(true)));
+        legacy = new LegacyRateLimiter(5, 60);
+    }
+
+    @Benchmark
+    public boolean gcraManyUsers() {
+        return current.tryAcquire(users[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    public boolean legacyManyUsers() {
+        return legacy.tryAcquire(users[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    public boolean gcraHotUser() {
+        return current.tryAcquire(HOT_USER);
+    }
+
+    @Benchmark
+    public boolean legacyHotUser() {
+        return legacy.tryAcquire(HOT_USER);
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[]{1, 8, 64}) {
+            Options options = new OptionsBuilder()
+                    .include(RateLimiterBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    /**
+     * The pre-GCRA implementation, kept here only as a baseline.
+     */
+    static class LegacyRateLimiter {
+        private final int maxBookings;
+        private final int durationSeconds;
+        private final Map<String, List<LocalDateTime>> userRequestHistory = new ConcurrentHashMap<>();
+
+        LegacyRateLimiter(int maxBookings, int durationSeconds) {
+            this.maxBookings = maxBookings;
+            this.durationSeconds = durationSeconds;
+        }
+
+        boolean tryAcquire(String userEmail) {
+            List<LocalDateTime> history = userRequestHistory.computeIfAbsent(userEmail, k -> new ArrayList<>());
+            LocalDateTime now = LocalDateTime.now();
+
+            synchronized (history) {
+                history.removeIf(timestamp -> timestamp.isBefore(now.minusSeconds(durationSeconds)));
+                if (history.size() >= maxBookings) {
+                    return false;
+                }
+                history.add(now);
+                return true;
+            }
+        }
+    }
+}
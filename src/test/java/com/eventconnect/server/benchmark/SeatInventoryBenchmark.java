@@ -0,0 +1,133 @@
+package com.eventconnect.server.benchmark;
+
+import com.eventconnect.server.service.StripedSeatCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bookings per second for one hot event with many concurrent buyers: taking the seat with the
+ * conditional row UPDATE every booking otherwise runs (each buyer waits for the row lock until
+ * the previous one commits) versus taking it from SeatInventoryEngine's striped counters. Both
+ * insert the booking row and commit, so the difference is the row lock the engine avoids. The
+ * engine's periodic flush (one UPDATE per event every 200ms) is not included.
+ *
+ * Uses in-memory H2 by default, where a commit costs next to nothing and both are about equal.
+ * commitLatencyMicros holds each transaction open that much longer before committing, standing in
+ * for the WAL flush a real database waits for while the row stays locked. Or compare on
+ * PostgreSQL (with commitLatencyMicros=0) using
+ *   -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/event_db
+ *   -Dbench.jdbc.user=postgres -Dbench.jdbc.password=postgres
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.eventconnect.server.benchmark.SeatInventoryBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class SeatInventoryBenchmark {
+
+    private static final int SEATS = 1_000_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Inventory {
+
+        @Param({"0", "500"})
+        public long commitLatencyMicros;
+
+        final StripedSeatCounter counter = new StripedSeatCounter(SEATS, 8);
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            try (Connection connection = connect(); Statement ddl = connection.createStatement()) {
+                ddl.execute("DROP TABLE IF EXISTS bench_seat_bookings");
+                ddl.execute("DROP TABLE IF EXISTS bench_seat_events");
+                ddl.execute("CREATE TABLE bench_seat_events (id BIGINT PRIMARY KEY, available_seats INT NOT NULL)");
+                ddl.execute("CREATE TABLE bench_seat_bookings (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                        + "event_id BIGINT NOT NULL, number_of_tickets INT NOT NULL)");
+                ddl.execute("INSERT INTO bench_seat_events VALUES (1, " + SEATS + ")");
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Buyer {
+
+        Connection connection;
+        PreparedStatement decrement;
+        PreparedStatement insertBooking;
+
+        // Takes Inventory so the tables exist first
+        @Setup(Level.Trial)
+        public void setUp(Inventory inventory) throws SQLException {
+            connection = connect();
+            connection.setAutoCommit(false);
+            decrement = connection.prepareStatement(
+                    "UPDATE bench_seat_events SET available_seats = available_seats - 1 WHERE id = 1 AND available_seats >= 1");
+            insertBooking = connection.prepareStatement(
+                    "INSERT INTO bench_seat_bookings (event_id, number_of_tickets) VALUES (1, 1)");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean rowDecrement(Inventory inventory, Buyer buyer) throws SQLException {
+        boolean taken = buyer.decrement.executeUpdate() == 1;
+        buyer.insertBooking.executeUpdate();
+        commit(inventory, buyer);
+        return taken;
+    }
+
+    @Benchmark
+    public boolean stripedCounters(Inventory inventory, Buyer buyer) throws SQLException {
+        boolean taken = inventory.counter.take(1);
+        buyer.insertBooking.executeUpdate();
+        commit(inventory, buyer);
+        return taken;
+    }
+
+    private static void commit(Inventory inventory, Buyer buyer) throws SQLException {
+        if (inventory.commitLatencyMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(inventory.commitLatencyMicros));
+        }
+        buyer.connection.commit();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:h2:mem:seatbench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"),
+                System.getProperty("bench.jdbc.user", "sa"),
+                System.getProperty("bench.jdbc.password", ""));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(SeatInventoryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.eventconnect.server.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for comparing the platform-thread and virtual-thread modes of a
+ * running server at high concurrency. Each of the N clients sends its next request as soon as the
+ * previous one completes; the run reports throughput, error count and latency percentiles.
+ *
+ * Start the server once with VIRTUAL_THREADS=false and once with VIRTUAL_THREADS=true (Java 21+),
+ * same DB_POOL_SIZE, and drive each with concurrency 50, 500 and 2000.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.eventconnect.server.benchmark.ThreadModeLoadHarness
+ *   -Dexec.args="http://localhost:8080/api/v1/events?size=10 2000 30"
+ * Arguments: url, concurrency (default 500), duration in seconds (default 30), optional bearer token
+ * for authenticated endpoints such as /api/v1/bookings/my-bookings.
+ */
+public class ThreadModeLoadHarness {
+
+    private static final int MAX_SAMPLES = 5_000_000;
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/api/v1/events?size=10");
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String token = args.length > 3 ? args[3] : null;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        // Warm up the server's JIT and pools before measuring
+        run(client, request, concurrency, 5, new long[MAX_SAMPLES]);
+
+        long[] latencies = new long[MAX_SAMPLES];
+        Result result = run(client, request, concurrency, seconds, latencies);
+        long[] sorted = Arrays.copyOf(latencies, Math.min(result.completed, MAX_SAMPLES));
+        Arrays.sort(sorted);
+
+        System.out.printf("%s, %d clients, %d s%n", uri, concurrency, seconds);
+        System.out.printf("throughput %.0f req/s, errors %d%n", result.completed / (double) seconds, result.errors);
+        System.out.printf("latency ms p50 %.1f  p95 %.1f  p99 %.1f  max %.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private record Result(int completed, int errors) {
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds,
+                              long[] latencies) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicLong inFlight = new AtomicLong(concurrency);
+        CountDownLatch done = new CountDownLatch(1);
+
+        for (int i = 0; i < concurrency; i++) {
+            send(client, request, deadline, latencies, completed, errors, inFlight, done);
+        }
+        done.await(seconds + 60L, TimeUnit.SECONDS);
+        return new Result(completed.get(), errors.get());
+    }
+
+    // Each completion schedules that client's next request until the deadline passes
+    private static void send(HttpClient client, HttpRequest request, long deadline, long[] latencies,
+                             AtomicInteger completed, AtomicInteger errors, AtomicLong inFlight, CountDownLatch done) {
+        if (System.nanoTime() - deadline >= 0) {
+            if (inFlight.decrementAndGet() == 0) {
+                done.countDown();
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure != null || response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            } else {
+                int index = completed.getAndIncrement();
+                if (index < latencies.length) {
+                    latencies[index] = System.nanoTime() - start;
+                }
+            }
+            send(client, request, deadline, latencies, completed, errors, inFlight, done);
+        });
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
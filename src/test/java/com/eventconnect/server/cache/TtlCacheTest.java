@@ -0,0 +1,81 @@
+package com.eventconnect.server.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlCacheTest {
+
+    @Test
+    void keepsRecentlyReadEntriesWhenFull() throws InterruptedException {
+        TtlCache<Integer, String> cache = new TtlCache<>(10, Duration.ofMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "v" + i);
+        }
+        Thread.sleep(5);
+        cache.get(0);
+
+        cache.put(10, "v10");
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get(0)).isEqualTo("v0");
+        assertThat(cache.get(10)).isEqualTo("v10");
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void expiresEntries() throws InterruptedException {
+        TtlCache<Integer, String> cache = new TtlCache<>(10, Duration.ofMillis(20));
+        cache.put(1, "v1");
+        Thread.sleep(30);
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void putIfUnchangedSkipsLoadsThatOverlapAnInvalidation() {
+        TtlCache<Integer, String> cache = new TtlCache<>(10, Duration.ofMinutes(1));
+        long generation = cache.generation();
+        cache.invalidate(2);
+
+        cache.putIfUnchanged(1, "stale", generation);
+        cache.putIfUnchanged(1, "fresh", cache.generation());
+
+        assertThat(cache.get(1)).isEqualTo("fresh");
+    }
+
+    @Test
+    void staysBoundedUnderConcurrentUse() throws Exception {
+        TtlCache<Integer, Integer> cache = new TtlCache<>(100, Duration.ofMinutes(1));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] workers = new Future<?>[8];
+            for (int t = 0; t < workers.length; t++) {
+                int offset = t * 10_000;
+                workers[t] = pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (cache.get(i % 500) == null) {
+                            cache.put(i % 500, offset + i);
+                        }
+                    }
+                });
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // A trim can race with puts, but never by more than one entry per writer
+        assertThat(cache.size()).isLessThanOrEqualTo(100 + 8);
+        assertThat(cache.hitCount() + cache.missCount()).isEqualTo(80_000);
+    }
+}
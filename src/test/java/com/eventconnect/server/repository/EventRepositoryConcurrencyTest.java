@@ -0,0 +1,97 @@
+package com.eventconnect.server.repository;
+
+import com.eventconnect.server.entity.Event;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventRepositoryConcurrencyTest {
+
+    private static final int CAPACITY = 100;
+    private static final int BUYERS = 400;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentBuyersNeverOversellAnEvent() throws Exception {
+        Long eventId = eventRepository.save(hotEvent()).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+
+        for (int i = 0; i < BUYERS; i++) {
+            buyers.execute(() -> {
+                try {
+                    start.await();
+                    Integer updated = tx.execute(status ->
+                            eventRepository.decrementAvailableSeats(eventId, 1, LocalDateTime.now()));
+                    if (updated != null && updated == 1) {
+                        sold.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        buyers.shutdown();
+        assertThat(buyers.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        System.out.printf("%d booking attempts in %.3fs (%.0f attempts/s), %d sold, %d rejected%n",
+                BUYERS, seconds, BUYERS / seconds, sold.get(), rejected.get());
+
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        assertThat(sold.get()).isEqualTo(CAPACITY);
+        assertThat(rejected.get()).isEqualTo(BUYERS - CAPACITY);
+        assertThat(event.getAvailableSeats()).isZero();
+    }
+
+    private static Event hotEvent() {
+        Event event = Event.builder()
+                .title("Flash Sale Concert")
+                .description("Hot on-sale")
+                .date(LocalDateTime.now().plusDays(30))
+                .location("Mumbai, India")
+                .category("Music")
+                .ticketPrice(new BigDecimal("499.00"))
+                .capacity(CAPACITY)
+                .availableSeats(CAPACITY)
+                .build();
+        // Auditing is not active in the JPA slice
+        event.setCreatedAt(LocalDateTime.now());
+        event.setCreatedBy("test");
+        event.setModifiedAt(LocalDateTime.now());
+        event.setModifiedBy("test");
+        return event;
+    }
+}
@@ -0,0 +1,79 @@
+package com.eventconnect.server.security;
+
+import com.eventconnect.server.config.PasswordHashingProperties;
+import com.eventconnect.server.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void hashesAndFlagsOtherCostsForRehash() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(properties(4, 2000), meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isTrue();
+        assertThat(meterRegistry.get("auth.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWithServiceUnavailableWhenSaturated() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                awaitQuietly(release);
+                return super.encode(rawPassword);
+            }
+        };
+        // One hash at a time, one waiter, who gives up after 200ms
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(properties(4, 200), meterRegistry, slow);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("secret"));
+        hashing.await();
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> encoder.encode("secret"));
+        while (meterRegistry.get("auth.hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        try {
+            // Queue full: refused at once
+            assertThatThrownBy(() -> encoder.encode("secret")).isInstanceOf(ServiceUnavailableException.class);
+            // Waited too long: refused after max-wait-ms
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ServiceUnavailableException.class);
+            assertThat(meterRegistry.get("auth.hashing.rejected").counter().count()).isEqualTo(2);
+        } finally {
+            release.countDown();
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    private static PasswordHashingProperties properties(int strength, long maxWaitMs) {
+        return new PasswordHashingProperties(new PasswordHashingProperties.Bcrypt(strength),
+                new PasswordHashingProperties.Hashing(1, 1, maxWaitMs));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.eventconnect.server.security;
+
+import com.eventconnect.server.config.JwtProperties;
+import com.eventconnect.server.entity.Role;
+import com.eventconnect.server.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private JwtUtils jwtUtils;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = jwtUtils(900_000L);
+        user = User.builder().id(1L).name("Asha").email("asha@example.com").password("x").role(Role.ADMIN).build();
+    }
+
+    @Test
+    void verifiesOnceAndServesRepeatsFromCache() {
+        String token = jwtUtils.generateToken(user);
+
+        VerifiedToken first = jwtUtils.verify(token).orElseThrow();
+        VerifiedToken second = jwtUtils.verify(token).orElseThrow();
+
+        assertThat(first.subject()).isEqualTo("asha@example.com");
+        assertThat(first.role()).isEqualTo("ADMIN");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void rejectsTamperedAndExpiredTokens() {
+        String token = jwtUtils.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThat(jwtUtils.verify(tampered)).isEmpty();
+        assertThat(jwtUtils.verify("not-a-jwt")).isEmpty();
+
+        JwtUtils expiring = jwtUtils(-1_000L);
+        assertThat(expiring.verify(expiring.generateToken(user))).isEmpty();
+    }
+
+    private static JwtUtils jwtUtils(long expirationMs) {
+        JwtProperties properties = new JwtProperties("HS256", "dGVzdC1zZWNyZXQta2V5LWZvci1ldmVudGNvbm5lY3QtdW5pdC10ZXN0cy0wMTIz",
+                expirationMs, 604_800_000L, new JwtProperties.VerifiedCache(100, 60), new JwtProperties.Keys("", ""));
+        JwtUtils jwtUtils = new JwtUtils(new SimpleMeterRegistry(), new JwtKeySet(properties), properties);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,56 @@
+package com.eventconnect.server.security;
+
+import com.eventconnect.server.cache.LoopbackInvalidationBus;
+import com.eventconnect.server.config.PrincipalCacheProperties;
+import com.eventconnect.server.entity.Role;
+import com.eventconnect.server.entity.User;
+import com.eventconnect.server.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrincipalCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(userRepository, new SimpleMeterRegistry(), new LoopbackInvalidationBus(0),
+                new PrincipalCacheProperties(true, 100, 60));
+        cache.initCache();
+
+        User user = User.builder().id(7L).name("Asha").email("asha@example.com").password("hash").role(Role.USER).build();
+        when(userRepository.findByEmail("asha@example.com")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void looksUpEachSubjectOnceAndKeepsNoPasswordHash() {
+        UserDetails first = cache.get("asha@example.com");
+        UserDetails second = cache.get("asha@example.com");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getPassword()).isEmpty();
+        assertThat(first.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        verify(userRepository, times(1)).findByEmail("asha@example.com");
+    }
+
+    @Test
+    void evictByUserIdForcesReload() {
+        cache.get("asha@example.com");
+
+        cache.evict(7L);
+        cache.get("asha@example.com");
+
+        verify(userRepository, times(2)).findByEmail("asha@example.com");
+    }
+}
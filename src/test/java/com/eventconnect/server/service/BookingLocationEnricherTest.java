@@ -0,0 +1,153 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.config.LocationEnrichmentProperties;
+import com.eventconnect.server.dto.BookingCoordinates;
+import com.eventconnect.server.entity.Booking;
+import com.eventconnect.server.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingLocationEnricherTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookingLocationEnricher enricher;
+
+    @AfterEach
+    void tearDown() {
+        enricher.stop();
+    }
+
+    @Test
+    void resolvesLocationWithStubGeocoder() {
+        enricher = newEnricher(new StubReverseGeocoder(), 10, 3);
+
+        enricher.enrichAfterCommit(booking(1L, 19.07, 72.87));
+
+        verify(bookingRepository, timeout(2000)).updateLocation(1L, "Stub City (19.07, 72.87)");
+    }
+
+    @Test
+    void retriesFailedLookupsBeforeSucceeding() {
+        AtomicInteger calls = new AtomicInteger();
+        ReverseGeocoder flaky = (lat, lon) -> calls.incrementAndGet() < 3 ? Optional.empty() : Optional.of("Mumbai");
+        enricher = newEnricher(flaky, 10, 3);
+
+        enricher.enrichAfterCommit(booking(2L, 19.07, 72.87));
+
+        verify(bookingRepository, timeout(2000)).updateLocation(2L, "Mumbai");
+    }
+
+    @Test
+    void fallsBackToCoordinatesAfterMaxAttempts() {
+        enricher = newEnricher((lat, lon) -> Optional.empty(), 10, 2);
+
+        enricher.enrichAfterCommit(booking(3L, 12.5, 77.25));
+
+        verify(bookingRepository, timeout(2000)).updateLocation(3L, "Lat: 12.5000, Lon: 77.2500");
+    }
+
+    @Test
+    void countsBookingsDroppedFromAFullQueueAndSweepsThemLater() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        enricher = newEnricher((lat, lon) -> {
+            blocked.countDown();
+            await(release);
+            return Optional.of("Pune");
+        }, 1, 3);
+
+        // The worker takes the first, the second fills the queue, the third is dropped
+        enricher.enrichAfterCommit(booking(4L, 18.52, 73.85));
+        blocked.await();
+        enricher.enrichAfterCommit(booking(5L, 18.52, 73.85));
+        enricher.enrichAfterCommit(booking(6L, 18.52, 73.85));
+        assertThat(meterRegistry.get("booking.location.dropped").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        verify(bookingRepository, timeout(2000)).updateLocation(5L, "Pune");
+        when(bookingRepository.findUnresolvedLocations(any(), any())).thenReturn(List.of(coordinates(6L, 18.52, 73.85)));
+        enricher.sweepUnresolved();
+
+        verify(bookingRepository, timeout(2000)).updateLocation(6L, "Pune");
+    }
+
+    @Test
+    void stopDrainsTheQueue() {
+        enricher = newEnricher((lat, lon) -> {
+            sleep(20);
+            return Optional.of("Delhi");
+        }, 10, 3);
+        for (long id = 10; id < 15; id++) {
+            enricher.enrichAfterCommit(booking(id, 28.61 + id, 77.21));
+        }
+
+        enricher.stop();
+
+        for (long id = 10; id < 15; id++) {
+            verify(bookingRepository).updateLocation(id, "Delhi");
+        }
+    }
+
+    private BookingLocationEnricher newEnricher(ReverseGeocoder geocoder, int queueCapacity, int maxAttempts) {
+        BookingLocationEnricher enricher = new BookingLocationEnricher(geocoder, bookingRepository,
+                mock(PlatformTransactionManager.class), meterRegistry,
+                new LocationEnrichmentProperties(1, queueCapacity, 5, maxAttempts, 10, 100, 60, 5000));
+        enricher.start();
+        return enricher;
+    }
+
+    private static Booking booking(Long id, double latitude, double longitude) {
+        return Booking.builder()
+                .id(id)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+
+    private static BookingCoordinates coordinates(Long id, double latitude, double longitude) {
+        return new BookingCoordinates() {
+            public Long getId() {
+                return id;
+            }
+
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            public Double getLongitude() {
+                return longitude;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.dto.BookingRequest;
+import com.eventconnect.server.dto.BookingResponseDto;
+import com.eventconnect.server.entity.BookingStatus;
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.entity.Role;
+import com.eventconnect.server.entity.User;
+import com.eventconnect.server.exception.BadRequestException;
+import com.eventconnect.server.exception.ResourceNotFoundException;
+import com.eventconnect.server.repository.BookingRepository;
+import com.eventconnect.server.repository.EventRepository;
+import com.eventconnect.server.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookingServiceHoldTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatHoldReaper seatHoldReaper;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        // Fresh user per test so the booking rate limit never interferes
+        email = "holder-" + System.nanoTime() + "@example.com";
+        userRepository.save(User.builder().name("Holder").email(email).password("x").role(Role.USER).build());
+        event = eventRepository.save(Event.builder()
+                .title("Hold Test " + System.nanoTime())
+                .date(LocalDateTime.now().plusDays(7))
+                .location("Pune, India")
+                .category("Music")
+                .ticketPrice(new BigDecimal("250.00"))
+                .capacity(10)
+                .availableSeats(10)
+                .build());
+    }
+
+    @Test
+    void confirmKeepsSeatsTaken() {
+        BookingResponseDto hold = hold(3);
+        assertThat(seatsLeft()).isEqualTo(7);
+
+        BookingResponseDto confirmed = bookingService.confirmHold(hold.getBookingId(), email);
+
+        assertThat(confirmed.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(seatsLeft()).isEqualTo(7);
+        // Confirmed bookings are no longer released, by the user or by expiry
+        assertThat(seatHoldReaper.release(hold.getBookingId())).isFalse();
+        assertThat(seatsLeft()).isEqualTo(7);
+    }
+
+    @Test
+    void releaseReturnsSeats() {
+        BookingResponseDto hold = hold(3);
+
+        bookingService.releaseHold(hold.getBookingId(), email);
+
+        assertThat(seatsLeft()).isEqualTo(10);
+        assertThat(bookingRepository.findById(hold.getBookingId())).isEmpty();
+        assertThatThrownBy(() -> bookingService.confirmHold(hold.getBookingId(), email))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void sweepReleasesExpiredHolds() {
+        BookingResponseDto expired = hold(3);
+        BookingResponseDto open = hold(2);
+        expire(expired);
+
+        seatHoldReaper.sweepExpiredHolds();
+
+        assertThat(bookingRepository.findById(expired.getBookingId())).isEmpty();
+        assertThat(bookingRepository.findById(open.getBookingId())).isPresent();
+        assertThat(seatsLeft()).isEqualTo(8);
+    }
+
+    @Test
+    void confirmAfterExpiryIsRejected() {
+        BookingResponseDto hold = hold(3);
+        expire(hold);
+
+        assertThatThrownBy(() -> bookingService.confirmHold(hold.getBookingId(), email))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Seat hold has expired.");
+        // Still releasable by the reaper, which returns the seats
+        assertThat(seatHoldReaper.release(hold.getBookingId())).isTrue();
+        assertThat(seatsLeft()).isEqualTo(10);
+    }
+
+    private BookingResponseDto hold(int tickets) {
+        BookingRequest request = new BookingRequest();
+        request.setEventId(event.getId());
+        request.setTickets(tickets);
+        request.setLatitude(18.52);
+        request.setLongitude(73.85);
+        return bookingService.holdSeats(email, request, new MockHttpServletRequest());
+    }
+
+    private void expire(BookingResponseDto hold) {
+        jdbcTemplate.update("UPDATE bookings SET hold_expires_at = ? WHERE id = ?",
+                LocalDateTime.now().minusSeconds(1), hold.getBookingId());
+    }
+
+    private int seatsLeft() {
+        return eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats();
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.dto.BookingResponseDto;
+import com.eventconnect.server.entity.Booking;
+import com.eventconnect.server.entity.BookingStatus;
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.entity.Role;
+import com.eventconnect.server.entity.User;
+import com.eventconnect.server.repository.BookingRepository;
+import com.eventconnect.server.repository.EventRepository;
+import com.eventconnect.server.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement_count_db;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookingServiceStatementCountTest {
+
+    private static final String EMAIL = "reader@example.com";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (userRepository.findByEmail(EMAIL).isPresent()) {
+            return;
+        }
+        User user = userRepository.save(User.builder()
+                .name("Reader").email(EMAIL).password("x").role(Role.USER).build());
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Event event = eventRepository.save(Event.builder()
+                    .title("Event " + i)
+                    .date(LocalDateTime.now().plusDays(10 + i))
+                    .location("Pune, India")
+                    .category("Music")
+                    .ticketPrice(new BigDecimal("150.00"))
+                    .capacity(100)
+                    .availableSeats(100)
+                    .build());
+            for (int j = 1; j <= 3; j++) {
+                bookings.add(Booking.builder()
+                        .user(user)
+                        .event(event)
+                        .bookingDate(LocalDateTime.now())
+                        .numberOfTickets(j)
+                        .status(BookingStatus.CONFIRMED)
+                        .build());
+            }
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @Test
+    void userBookingsAreLoadedWithOneStatement() {
+        statistics.clear();
+
+        List<BookingResponseDto> bookings = bookingService.getUserBookings(EMAIL, null, null);
+
+        assertThat(bookings).hasSize(24);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(bookings).allSatisfy(booking -> assertThat(booking.getTotalAmount())
+                .isEqualByComparingTo(new BigDecimal("150.00").multiply(BigDecimal.valueOf(booking.getTickets()))));
+    }
+
+    @Test
+    void keysetPagesDoNotOverlapAndCostOneStatementEach() {
+        statistics.clear();
+
+        List<BookingResponseDto> first = bookingService.getUserBookings(EMAIL, null, 10);
+        List<BookingResponseDto> second = bookingService.getUserBookings(EMAIL, first.get(9).getBookingId(), 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(first).hasSize(10);
+        assertThat(second).hasSize(10);
+        assertThat(second.get(0).getBookingId()).isLessThan(first.get(9).getBookingId());
+    }
+}
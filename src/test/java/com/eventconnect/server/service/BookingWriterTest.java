@@ -0,0 +1,86 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.entity.BookingStatus;
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.entity.Role;
+import com.eventconnect.server.entity.User;
+import com.eventconnect.server.exception.BadRequestException;
+import com.eventconnect.server.repository.BookingRepository;
+import com.eventconnect.server.repository.EventRepository;
+import com.eventconnect.server.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingWriterTest {
+
+    private static final int CAPACITY = 60;
+    private static final int BUYERS = 50;
+
+    @Autowired
+    private BookingWriter bookingWriter;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void groupedBookingsNeverOversellAndFailIndividually() throws Exception {
+        User user = userRepository.save(User.builder()
+                .name("Buyer").email("buyer@example.com").password("x").role(Role.USER).build());
+        Event event = eventRepository.save(Event.builder()
+                .title("Flash Sale Concert")
+                .description("Hot on-sale")
+                .date(LocalDateTime.now().plusDays(30))
+                .location("Mumbai, India")
+                .category("Music")
+                .ticketPrice(new BigDecimal("499.00"))
+                .capacity(CAPACITY)
+                .availableSeats(CAPACITY)
+                .build());
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+
+        for (int i = 0; i < BUYERS; i++) {
+            buyers.execute(() -> {
+                try {
+                    start.await();
+                    bookingWriter.write(new BookingWriter.BookingCommand(user, event.getId(), 2, "127.0.0.1",
+                            19.07, 72.87, BookingStatus.CONFIRMED, null));
+                    booked.incrementAndGet();
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        buyers.shutdown();
+        assertThat(buyers.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(booked.get()).isEqualTo(CAPACITY / 2);
+        assertThat(rejected.get()).isEqualTo(BUYERS - CAPACITY / 2);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats()).isZero();
+        assertThat(bookingRepository.findByUserEmail("buyer@example.com")).hasSize(CAPACITY / 2);
+    }
+}
@@ -0,0 +1,219 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.cache.EntityChange;
+import com.eventconnect.server.cache.LoopbackInvalidationBus;
+import com.eventconnect.server.config.EventCatalogCacheProperties;
+import com.eventconnect.server.dto.EventView;
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class EventCatalogCacheTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("date"));
+
+    private final Event jazz = event(1L, "Jazz Night", "Goa, India");
+    private final Event rock = event(2L, "Rock Fest", "Pune, India");
+    private EventCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = catalogCache(new LoopbackInvalidationBus(0));
+
+        cache.getEvent(1L, () -> Optional.of(jazz));
+        cache.getEvent(2L, () -> Optional.of(rock));
+        cachePage("", jazz, rock);
+        cachePage("jazz", jazz);
+        cachePage("rock", rock);
+        // Nothing matches yet
+        cachePage("blues");
+        cacheCount("", 2);
+        cacheCount("goa", 1);
+        cacheCount("rock", 1);
+        cacheCount("blues", 0);
+    }
+
+    @Test
+    void createEvictsOnlyListingsTheNewEventMatches() {
+        Event blues = event(3L, "Blues Evening", "Mumbai, India");
+
+        cache.evict(3L, blues);
+
+        assertThat(pageCached("")).isFalse();
+        assertThat(pageCached("blues")).isFalse();
+        assertThat(countCached("")).isFalse();
+        assertThat(countCached("blues")).isFalse();
+        // Existing events and unrelated listings survive
+        assertThat(eventCached(1L)).isTrue();
+        assertThat(eventCached(2L)).isTrue();
+        assertThat(pageCached("jazz")).isTrue();
+        assertThat(pageCached("rock")).isTrue();
+        assertThat(countCached("goa")).isTrue();
+        assertThat(countCached("rock")).isTrue();
+    }
+
+    @Test
+    void updateEvictsListingsMatchingOldAndNewValues() {
+        Event before = Event.builder().title(jazz.getTitle()).location(jazz.getLocation()).category(jazz.getCategory()).build();
+        Event after = event(1L, "Blues Night", "Mumbai, India");
+
+        cache.evict(1L, before, after);
+
+        assertThat(eventCached(1L)).isFalse();
+        // Listed the event before the change
+        assertThat(pageCached("jazz")).isFalse();
+        // Matched only the old location
+        assertThat(countCached("goa")).isFalse();
+        // Matches only the new title
+        assertThat(pageCached("blues")).isFalse();
+        assertThat(countCached("blues")).isFalse();
+        assertThat(eventCached(2L)).isTrue();
+        assertThat(pageCached("rock")).isTrue();
+        assertThat(countCached("rock")).isTrue();
+    }
+
+    @Test
+    void deleteEvictsTheEventAndListingsItAppearedIn() {
+        cache.evict(2L, rock);
+
+        assertThat(eventCached(2L)).isFalse();
+        assertThat(pageCached("")).isFalse();
+        assertThat(pageCached("rock")).isFalse();
+        assertThat(countCached("")).isFalse();
+        assertThat(countCached("rock")).isFalse();
+        assertThat(eventCached(1L)).isTrue();
+        assertThat(pageCached("jazz")).isTrue();
+        assertThat(pageCached("blues")).isTrue();
+        assertThat(countCached("goa")).isTrue();
+    }
+
+    @Test
+    void updateOnOneNodeEvictsOnTheOtherAfterCoalescing() {
+        // A long window so the test decides when it closes
+        LoopbackInvalidationBus bus = new LoopbackInvalidationBus(60_000L);
+        ReflectionTestUtils.invokeMethod(bus, "start");
+        List<EntityChange> delivered = new ArrayList<>();
+        bus.subscribe("event", delivered::add);
+        EventCatalogCache node1 = catalogCache(bus);
+        cache = catalogCache(bus);
+        cache.getEvent(1L, () -> Optional.of(jazz));
+        cache.getEvent(2L, () -> Optional.of(rock));
+        cachePage("jazz", jazz);
+        cachePage("rock", rock);
+        cachePage("blues");
+        cacheCount("mumbai", 0);
+
+        // A burst of edits to the same event on node 1, then one to another
+        Event after = event(1L, "Jazz Night Live", "Goa, India");
+        for (int i = 0; i < 10; i++) {
+            node1.evict(1L, jazz, after);
+        }
+        node1.evict(2L, rock);
+        assertThat(delivered).isEmpty();
+        ReflectionTestUtils.invokeMethod(bus, "flush");
+
+        // One message per distinct change
+        assertThat(delivered).extracting(EntityChange::id).containsExactly(1L, 2L);
+        assertThat(eventCached(1L)).isFalse();
+        assertThat(eventCached(2L)).isFalse();
+        assertThat(pageCached("jazz")).isFalse();
+        assertThat(pageCached("rock")).isFalse();
+        // Node 2 kept everything else
+        assertThat(pageCached("blues")).isTrue();
+        assertThat(countCached("mumbai")).isTrue();
+        ReflectionTestUtils.invokeMethod(bus, "stop");
+    }
+
+    @Test
+    void loadOverlappingAnEvictionIsNotCached() {
+        // The read saw the old row, then the writer committed and evicted before the put
+        Event stale = event(3L, "Old Title", "Goa, India");
+        cache.getEvent(3L, () -> {
+            cache.evict(3L, stale);
+            return Optional.of(stale);
+        });
+        cache.getPage("old", PAGE, () -> {
+            cache.evict(3L, stale);
+            return new PageImpl<>(List.of(stale), PAGE, 1);
+        });
+        cache.getCount("old", () -> {
+            cache.evict(3L, stale);
+            return 1;
+        }, OptionalLong::empty);
+
+        assertThat(eventCached(3L)).isFalse();
+        assertThat(pageCached("old")).isFalse();
+        assertThat(countCached("old")).isFalse();
+    }
+
+    @Test
+    void cachedEventsAreCopiesOfTheEntity() {
+        jazz.setTitle("Edited in place");
+
+        assertThat(cache.getEvent(1L, () -> Optional.of(jazz))).get()
+                .extracting(EventView::getTitle).isEqualTo("Jazz Night");
+    }
+
+    private static EventCatalogCache catalogCache(LoopbackInvalidationBus bus) {
+        EventCatalogCache cache = new EventCatalogCache(mock(EventRepository.class), mock(SeatInventoryEngine.class),
+                new SimpleMeterRegistry(), bus, new EventCatalogCacheProperties(true, 100, 100, 60, 1000, 300, 1000));
+        cache.initCaches();
+        return cache;
+    }
+
+    private static Event event(Long id, String title, String location) {
+        return Event.builder().id(id).title(title).location(location).category("Music").availableSeats(50).build();
+    }
+
+    private void cachePage(String keyword, Event... events) {
+        cache.getPage(keyword, PAGE, () -> new PageImpl<>(List.of(events), PAGE, events.length));
+    }
+
+    private void cacheCount(String keyword, long count) {
+        cache.getCount(keyword, () -> count, OptionalLong::empty);
+    }
+
+    // Each check reloads a missing entry, so assert on a given entry at most once per test
+    private boolean eventCached(Long id) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        cache.getEvent(id, () -> {
+            loaded.set(true);
+            return Optional.of(event(id, "Reloaded", "Nowhere"));
+        });
+        return !loaded.get();
+    }
+
+    private boolean pageCached(String keyword) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        cache.getPage(keyword, PAGE, () -> {
+            loaded.set(true);
+            return new PageImpl<>(List.of(), PAGE, 0);
+        });
+        return !loaded.get();
+    }
+
+    private boolean countCached(String keyword) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        cache.getCount(keyword, () -> {
+            loaded.set(true);
+            return 0;
+        }, OptionalLong::empty);
+        return !loaded.get();
+    }
+}
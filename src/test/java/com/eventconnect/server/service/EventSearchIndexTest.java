@@ -0,0 +1,25 @@
+package com.eventconnect.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTest {
+
+    @Test
+    void buildsPrefixQueryFromEveryWord() {
+        assertThat(EventSearchIndex.toPrefixQuery("Neon  Dre")).isEqualTo("neon:* & dre:*");
+        assertThat(EventSearchIndex.toPrefixQuery("Café, Pune")).isEqualTo("café:* & pune:*");
+    }
+
+    @Test
+    void stripsTsqueryOperators() {
+        assertThat(EventSearchIndex.toPrefixQuery("jazz & !(blues | rock):*")).isEqualTo("jazz:* & blues:* & rock:*");
+    }
+
+    @Test
+    void returnsNullWhenNothingIsSearchable() {
+        assertThat(EventSearchIndex.toPrefixQuery(null)).isNull();
+        assertThat(EventSearchIndex.toPrefixQuery("  &!  ")).isNull();
+    }
+}
@@ -0,0 +1,53 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.dto.EventDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EventServiceCountCacheTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Test
+    void cachedTotalsFollowCreatesAndDeletes() {
+        PageRequest firstPage = PageRequest.of(0, 2, Sort.by("date"));
+        createEvent("Countcache Jazz 1");
+        createEvent("Countcache Jazz 2");
+        Long third = createEvent("Countcache Jazz 3");
+
+        assertThat(eventService.getAllEvents("countcache", firstPage).get("totalItems")).isEqualTo(3L);
+        // Second page reuses the cached total
+        Map<String, Object> secondPage = eventService.getAllEvents("countcache", PageRequest.of(1, 2, Sort.by("date")));
+        assertThat(secondPage.get("totalItems")).isEqualTo(3L);
+        assertThat((List<?>) secondPage.get("events")).hasSize(1);
+
+        createEvent("Countcache Jazz 4");
+        assertThat(eventService.getAllEvents("countcache", firstPage).get("totalItems")).isEqualTo(4L);
+
+        eventService.deleteEvent(third);
+        assertThat(eventService.getAllEvents("countcache", firstPage).get("totalItems")).isEqualTo(3L);
+    }
+
+    private Long createEvent(String title) {
+        EventDto dto = new EventDto();
+        dto.setTitle(title);
+        dto.setDate(LocalDateTime.now().plusDays(20));
+        dto.setLocation("Goa, India");
+        dto.setCategory("Music");
+        dto.setTicketPrice(BigDecimal.TEN);
+        dto.setCapacity(50);
+        return eventService.createEvent(dto).getId();
+    }
+}
@@ -0,0 +1,71 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.dto.EventCursorPage;
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.exception.BadRequestException;
+import com.eventconnect.server.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class EventServiceCursorTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void cursorPagesWalkAllEventsInDateOrderWithoutOverlap() {
+        LocalDateTime date = LocalDateTime.now().plusDays(5).withNano(0);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // Pairs share a date so the id tie-breaker is exercised
+            events.add(Event.builder()
+                    .title("Cursorwalk " + i)
+                    .date(date.plusHours(i / 2))
+                    .location("Pune, India")
+                    .category("Music")
+                    .ticketPrice(BigDecimal.TEN)
+                    .capacity(10)
+                    .availableSeats(10)
+                    .build());
+        }
+        eventRepository.saveAll(events);
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            EventCursorPage page = eventService.getEventsAfter("cursorwalk", cursor, 3, pages == 0);
+            if (pages == 0) {
+                assertThat(page.getTotalItems()).isEqualTo(7);
+            } else {
+                assertThat(page.getTotalItems()).isNull();
+            }
+            page.getEvents().forEach(event -> titles.add(event.getTitle()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(titles).containsExactly("Cursorwalk 0", "Cursorwalk 1", "Cursorwalk 2", "Cursorwalk 3",
+                "Cursorwalk 4", "Cursorwalk 5", "Cursorwalk 6");
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> eventService.getEventsAfter(null, "not-a-cursor", 10, false))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimiterTest {
+
+    // Arbitrary start; nanoTime values may be negative
+    private final AtomicLong now = new AtomicLong(-1_000_000_000L);
+    // 5 bookings per 60 seconds
+    private final InMemoryRateLimiter limiter =
+            new InMemoryRateLimiter(new RateLimitProperties(5, 60, new RateLimitProperties.Jdbc(true)), now::get);
+
+    @Test
+    void allowsExactlyTheBurstThenRejects() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user")).as("request %d", i).isTrue();
+        }
+        assertThat(limiter.tryAcquire("user")).isFalse();
+        assertThat(limiter.tryAcquire("other")).isTrue();
+    }
+
+    @Test
+    void refillsOnePermitPerWindow() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("user");
+        }
+
+        advance(59_999);
+        assertThat(limiter.tryAcquire("user")).isFalse();
+        advance(1);
+        assertThat(limiter.tryAcquire("user")).isTrue();
+        assertThat(limiter.tryAcquire("user")).isFalse();
+
+        // Idle for as many windows as the burst refills it, and no more
+        advance(300_000);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("user")).isFalse();
+    }
+
+    @Test
+    void neverAcceptsMoreThanTheLimitInOneWindow() {
+        // A client retrying every 250ms for half an hour
+        List<Long> accepted = new ArrayList<>();
+        for (long elapsed = 0; elapsed < 1_800_000; elapsed += 250) {
+            if (limiter.tryAcquire("user")) {
+                accepted.add(elapsed);
+            }
+            advance(250);
+        }
+
+        int maxInWindow = 0;
+        for (int first = 0; first < accepted.size(); first++) {
+            int last = first;
+            while (last < accepted.size() && accepted.get(last) - accepted.get(first) < 60_000) {
+                last++;
+            }
+            maxInWindow = Math.max(maxInWindow, last - first);
+        }
+        assertThat(maxInWindow).isEqualTo(5);
+    }
+
+    @Test
+    void evictsOnlyFullyRefilledKeys() {
+        limiter.tryAcquire("idle");
+        advance(60_000);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("busy");
+        }
+
+        limiter.evictIdleUsers();
+
+        assertThat(limiter.size()).isEqualTo(1);
+        // The busy user is still limited after the sweep
+        assertThat(limiter.tryAcquire("busy")).isFalse();
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
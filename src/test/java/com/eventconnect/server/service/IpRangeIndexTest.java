@@ -0,0 +1,94 @@
+package com.eventconnect.server.service;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpRangeIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void classifiesPrivateAndLoopbackAddresses() {
+        for (String ip : List.of("10.0.0.1", "10.255.255.255", "172.16.0.1", "172.31.255.255", "192.168.1.20",
+                "127.0.0.1", "169.254.10.1", "::1", "fd12:3456::1", "fe80::1%eth0", "::ffff:192.168.1.1", "localhost")) {
+            assertThat(IpRangeIndex.isPrivate(ip)).as(ip).isTrue();
+        }
+        for (String ip : List.of("172.15.255.255", "172.32.0.1", "172.217.14.206", "8.8.8.8", "11.0.0.1",
+                "192.169.0.1", "2001:4860:4860::8888", "::ffff:8.8.8.8", "not-an-ip")) {
+            assertThat(IpRangeIndex.isPrivate(ip)).as(ip).isFalse();
+        }
+    }
+
+    @Test
+    void rejectsMalformedAddresses() {
+        for (String ip : List.of("1.2.3.4", "::", "2001:db8::", "2001:db8:0:0:0:0:0:1", "::ffff:1.2.3.4")) {
+            assertThat(IpRangeIndex.isValid(ip)).as(ip).isTrue();
+        }
+        for (String ip : List.of("", "1.2.3", "1.2.3.256", "1.2.3.4.5", "1.2.3.4/../x", "2001:db8:::1",
+                "1:2:3:4:5:6:7:8:9", "12345::1", "2001:db8::g", "1::2::3", "example.com")) {
+            assertThat(IpRangeIndex.isValid(ip)).as(ip).isFalse();
+        }
+    }
+
+    @Test
+    void looksUpIpv4AndIpv6Ranges() throws IOException {
+        IpRangeIndex index = load();
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.lookup("1.0.0.0")).isEqualTo("Brisbane, Queensland, Australia (-27.4679, 153.0281)");
+        assertThat(index.lookup("1.0.0.255")).isEqualTo("Brisbane, Queensland, Australia (-27.4679, 153.0281)");
+        assertThat(index.lookup("1.0.1.0")).isNull();
+        assertThat(index.lookup("8.8.8.8")).isEqualTo("Mountain View, California, United States (37.4220, -122.0850)");
+        assertThat(index.lookup("::ffff:8.8.4.4")).isEqualTo("Mountain View, California, United States (37.4220, -122.0850)");
+        assertThat(index.lookup("2001:4860:4860::8888")).isEqualTo("Washington, D.C., District of Columbia, United States");
+        assertThat(index.lookup("2001:4860:ffff:ffff:ffff:ffff:ffff:ffff")).isEqualTo("Washington, D.C., District of Columbia, United States");
+        assertThat(index.lookup("2001:4861::1")).isNull();
+        assertThat(index.lookup("ff00::1")).isEqualTo("Unknown, Zone, Country");
+        assertThat(index.lookup("0.0.0.1")).isNull();
+        assertThat(index.lookup("garbage")).isNull();
+    }
+
+    @Test
+    void lookupsDoNotAllocate() throws IOException {
+        IpRangeIndex index = load();
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < 20_000; i++) {
+            index.lookup("8.8.8.8");
+            index.lookup("2001:4860:4860::8888");
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            index.lookup("8.8.8.8");
+            index.lookup("2001:4860:4860::8888");
+            index.lookup("::ffff:1.0.0.7");
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        // Allowance for the measurement itself; a per-lookup allocation would be megabytes
+        assertThat(allocated).isLessThan(64 * 1024);
+    }
+
+    private IpRangeIndex load() throws IOException {
+        Path csv = dir.resolve("dbip-city-lite.csv");
+        Files.write(csv, List.of(
+                "1.0.0.0,1.0.0.255,OC,AU,Queensland,Brisbane,-27.4679,153.0281",
+                "8.8.4.0,8.8.4.255,NA,US,California,\"Mountain View\",37.422,-122.085",
+                "8.8.8.0,8.8.8.255,NA,US,California,\"Mountain View\",37.422,-122.085",
+                "2001:4860::,2001:4860:ffff:ffff:ffff:ffff:ffff:ffff,NA,US,\"District of Columbia\",\"Washington, D.C.\",,",
+                "ff00::,ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff,ZZ,,Zone,Unknown,x,y"), StandardCharsets.UTF_8);
+        return IpRangeIndex.load(csv);
+    }
+}
@@ -0,0 +1,125 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.config.RateLimitProperties;
+import com.eventconnect.server.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcRateLimiterTest {
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:rate_limit_" + System.nanoTime() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(new StatementCountingDataSource(dataSource));
+    }
+
+    @Test
+    void allowsExactlyTheLimit() {
+        JdbcRateLimiter limiter = limiter(5, 60, true);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user")).as("request %d", i).isTrue();
+        }
+        assertThat(limiter.tryAcquire("user")).isFalse();
+        // Other keys have their own bucket
+        assertThat(limiter.tryAcquire("other")).isTrue();
+    }
+
+    @Test
+    void refillsOnePermitPerWindow() throws InterruptedException {
+        // 5 per second: after the burst, one permit back each second
+        JdbcRateLimiter limiter = limiter(5, 1, true);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("user")).isFalse();
+
+        Thread.sleep(1050);
+        assertThat(limiter.tryAcquire("user")).isTrue();
+        assertThat(limiter.tryAcquire("user")).isFalse();
+    }
+
+    @Test
+    void costsOneRoundTripPerCheck() {
+        JdbcRateLimiter limiter = limiter(5, 60, true);
+        statements.set(0);
+
+        // First request inserts, then allowed and rejected requests update or match nothing
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire("user");
+        }
+
+        assertThat(statements).hasValue(8);
+    }
+
+    @Test
+    void instancesSharingTheTableShareTheLimit() {
+        JdbcRateLimiter first = limiter(5, 60, true);
+        JdbcRateLimiter second = limiter(5, 60, true);
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if ((i % 2 == 0 ? first : second).tryAcquire("user")) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(5);
+    }
+
+    @Test
+    void failsOpenOrClosedAsConfiguredWhenTheStoreIsDown() {
+        JdbcRateLimiter open = limiter(5, 60, true);
+        JdbcRateLimiter closed = limiter(5, 60, false);
+        jdbcTemplate.execute("DROP TABLE rate_limit_buckets");
+
+        assertThat(open.tryAcquire("user")).isTrue();
+        assertThatThrownBy(() -> closed.tryAcquire("user")).isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private JdbcRateLimiter limiter(int maxBookings, int durationSeconds, boolean failOpen) {
+        JdbcRateLimiter limiter = new JdbcRateLimiter(jdbcTemplate,
+                new RateLimitProperties(maxBookings, durationSeconds, new RateLimitProperties.Jdbc(failOpen)));
+        limiter.init();
+        return limiter;
+    }
+
+    // Counts statements prepared or created, i.e. database round trips
+    private class StatementCountingDataSource extends DelegatingDataSource {
+
+        StatementCountingDataSource(DriverManagerDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")) {
+                            statements.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
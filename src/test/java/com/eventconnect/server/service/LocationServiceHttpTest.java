@@ -0,0 +1,192 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.config.GeocodingHttpProperties;
+import com.eventconnect.server.config.GeocodingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationServiceHttpTest {
+
+    private static final String NOMINATIM_BODY =
+            "{\"address\":{\"city\":\"Mumbai\",\"state\":\"Maharashtra\",\"country\":\"India\"}}";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMs;
+    private volatile CountDownLatch release;
+
+    private String baseUrl;
+    private GeocodingHttpClient httpClient;
+    private LocationService locationService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        httpClient = new GeocodingHttpClient(new SimpleMeterRegistry(),
+                new GeocodingHttpProperties(1000, 500, 2, 50, new GeocodingHttpProperties.Breaker(3, 60_000)));
+        httpClient.init();
+        locationService = locationService(baseUrl, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void resolvesCoordinatesThroughStubServer() {
+        assertThat(locationService.getLocationFromCoordinates(19.076, 72.8777))
+                .isEqualTo("Mumbai, Maharashtra, India");
+        // Second call is served from the cache
+        assertThat(locationService.getLocationFromCoordinates(19.076, 72.8777))
+                .isEqualTo("Mumbai, Maharashtra, India");
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void coalescesConcurrentLookupsForTheSameCell() {
+        release = new CountDownLatch(1);
+        List<CompletableFuture<Optional<String>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            lookups.add(locationService.reverseGeocodeAsync(19.076, 72.8777));
+        }
+        release.countDown();
+
+        lookups.forEach(lookup -> assertThat(lookup.join()).contains("Mumbai, Maharashtra, India"));
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void limitsConcurrentRequestsPerHost() {
+        delayMs = 50;
+        List<CompletableFuture<Optional<String>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Far enough apart to land in different geohash cells
+            lookups.add(locationService.reverseGeocodeAsync(10 + i, 70));
+        }
+
+        lookups.forEach(lookup -> assertThat(lookup.join()).isPresent());
+        assertThat(requests.get()).isEqualTo(10);
+        assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void timesOutStalledRequestsAndFallsBackToCoordinates() {
+        delayMs = 5_000;
+
+        long start = System.nanoTime();
+        assertThat(locationService.getLocationFromCoordinates(12.5, 77.25)).isEqualTo("Lat: 12.5000, Lon: 77.2500");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(3_000);
+    }
+
+    @Test
+    void opensCircuitAfterRepeatedFailures() {
+        status = 503;
+        for (int i = 0; i < 3; i++) {
+            assertThat(locationService.getLocationFromCoordinates(10.0 + i, 70.0)).startsWith("Lat: ");
+        }
+        assertThat(requests.get()).isEqualTo(3);
+
+        status = 200;
+        assertThat(locationService.getLocationFromCoordinates(30.0, 70.0)).isEqualTo("Lat: 30.0000, Lon: 70.0000");
+        assertThat(locationService.getLocationFromIp("8.8.8.8")).isEqualTo("Location service unavailable");
+        // Rejected without reaching the server
+        assertThat(requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        status = 404;
+        for (int i = 0; i < 5; i++) {
+            locationService.getLocationFromCoordinates(10.0 + i, 70.0);
+        }
+
+        status = 200;
+        assertThat(locationService.getLocationFromCoordinates(30.0, 70.0)).isEqualTo("Mumbai, Maharashtra, India");
+        assertThat(requests.get()).isEqualTo(6);
+    }
+
+    @Test
+    void negativelyCachesOnlyPermanentFailures() {
+        locationService = locationService(baseUrl, 60);
+
+        status = 503;
+        assertThat(locationService.reverseGeocode(19.076, 72.8777)).isEmpty();
+        // A retry after a server error goes back to the provider
+        status = 200;
+        assertThat(locationService.reverseGeocode(19.076, 72.8777)).contains("Mumbai, Maharashtra, India");
+        assertThat(requests.get()).isEqualTo(2);
+
+        status = 404;
+        assertThat(locationService.reverseGeocode(12.5, 77.25)).isEmpty();
+        status = 200;
+        assertThat(locationService.reverseGeocode(12.5, 77.25)).isEmpty();
+        assertThat(requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void lookupThatFailsToStartIsNotLeftInFlight() {
+        locationService = locationService("http://bad host", 0);
+
+        assertThat(locationService.reverseGeocodeAsync(19.076, 72.8777)).isCompletedExceptionally();
+        // Would join the first lookup forever if its entry were left behind
+        assertThat(locationService.reverseGeocodeAsync(19.076, 72.8777)).isCompletedExceptionally();
+    }
+
+    private LocationService locationService(String nominatimUrl, long negativeTtlSec) {
+        LocationService service = new LocationService(httpClient, new ObjectMapper(), new SimpleMeterRegistry(), Optional.empty(),
+                new GeocodingProperties(baseUrl, nominatimUrl, "", new GeocodingProperties.Cache(7, 100, 3600, negativeTtlSec)));
+        service.initCaches();
+        return service;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            if (release != null) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            byte[] body = NOMINATIM_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Client gave up on a stalled response
+        } finally {
+            active.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
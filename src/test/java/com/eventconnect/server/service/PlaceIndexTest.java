@@ -0,0 +1,115 @@
+package com.eventconnect.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PlaceIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resolvesNearestPlaceWithStateAndCountryNames() throws IOException {
+        PlaceIndex index = load(List.of(
+                geonames("Mumbai", 19.07283, 72.88261, "IN", "16"),
+                geonames("Pune", 18.51957, 73.85535, "IN", "16"),
+                geonames("Bengaluru", 12.97194, 77.59369, "IN", "19"),
+                geonames("Zürich", 47.36667, 8.55, "CH", "ZH")));
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.nearest(19.0, 72.9, 50)).isEqualTo("Mumbai, Maharashtra, India");
+        assertThat(index.nearest(12.9, 77.6, 50)).isEqualTo("Bengaluru, Karnataka, India");
+        // Unknown admin1 code falls back to the country alone
+        assertThat(index.nearest(47.37, 8.54, 50)).isEqualTo("Zürich, Switzerland");
+        // Nothing within range out at sea
+        assertThat(index.nearest(15.0, 65.0, 50)).isNull();
+    }
+
+    @Test
+    void findsNeighboursAcrossTheAntimeridian() throws IOException {
+        PlaceIndex index = load(List.of(
+                geonames("Taveuni", -16.85, 179.97, "FJ", ""),
+                geonames("Apia", -13.83333, -171.76666, "WS", "")));
+
+        assertThat(index.nearest(-16.85, -179.98, 50)).isEqualTo("Taveuni, Fiji");
+    }
+
+    @Test
+    void matchesBruteForceOnRandomPlaces() throws IOException {
+        Random random = new Random(42);
+        List<String> rows = new ArrayList<>();
+        double[][] places = new double[5_000][];
+        for (int i = 0; i < places.length; i++) {
+            places[i] = randomPoint(random);
+            rows.add(geonames("P" + i, places[i][0], places[i][1], "IN", "16"));
+        }
+        PlaceIndex index = load(rows);
+
+        for (int q = 0; q < 500; q++) {
+            double[] query = randomPoint(random);
+            String expected = null;
+            double best = Double.MAX_VALUE;
+            for (int i = 0; i < places.length; i++) {
+                double distance = haversineKm(query, places[i]);
+                if (distance < best) {
+                    best = distance;
+                    expected = "P" + i;
+                }
+            }
+            String found = index.nearest(query[0], query[1], 20_000);
+            String foundName = found.substring(0, found.indexOf(','));
+            if (!foundName.equals(expected)) {
+                // Ties within float precision may resolve either way
+                double foundDistance = haversineKm(query, places[Integer.parseInt(foundName.substring(1))]);
+                assertThat(foundDistance).isCloseTo(best, within(0.01));
+            }
+        }
+    }
+
+    private PlaceIndex load(List<String> rows) throws IOException {
+        Path places = dir.resolve("cities500.txt");
+        Path admin1 = dir.resolve("admin1CodesASCII.txt");
+        Path countries = dir.resolve("countryInfo.txt");
+        Files.write(places, rows, StandardCharsets.UTF_8);
+        Files.write(admin1, List.of(
+                "IN.16\tMaharashtra\tMaharashtra\t1264418",
+                "IN.19\tKarnataka\tKarnataka\t1267701"), StandardCharsets.UTF_8);
+        Files.write(countries, List.of(
+                "#ISO\tISO3\tISO-Numeric\tfips\tCountry\tCapital",
+                "IN\tIND\t356\tIN\tIndia\tNew Delhi",
+                "CH\tCHE\t756\tSZ\tSwitzerland\tBern",
+                "FJ\tFJI\t242\tFJ\tFiji\tSuva",
+                "WS\tWSM\t882\tWS\tSamoa\tApia"), StandardCharsets.UTF_8);
+        return PlaceIndex.load(places, admin1, countries);
+    }
+
+    // One row of the GeoNames main table (19 tab-separated columns)
+    private static String geonames(String name, double latitude, double longitude, String country, String admin1) {
+        return String.join("\t", "1", name, name, "", Double.toString(latitude), Double.toString(longitude),
+                "P", "PPL", country, "", admin1, "", "", "", "1000", "", "10", "Asia/Kolkata", "2024-01-01");
+    }
+
+    private static double[] randomPoint(Random random) {
+        // Uniform on the sphere
+        return new double[]{Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)), random.nextDouble() * 360 - 180};
+    }
+
+    private static double haversineKm(double[] a, double[] b) {
+        double dLat = Math.toRadians(b[0] - a[0]);
+        double dLon = Math.toRadians(b[1] - a[1]);
+        double h = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(a[0])) * Math.cos(Math.toRadians(b[0])) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * 6371.0088 * Math.asin(Math.sqrt(h));
+    }
+}
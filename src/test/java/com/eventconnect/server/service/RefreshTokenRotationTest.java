@@ -0,0 +1,113 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.dto.AuthRequest;
+import com.eventconnect.server.dto.AuthResponse;
+import com.eventconnect.server.dto.RegisterRequest;
+import com.eventconnect.server.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RefreshTokenRotationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rotatesOnEveryRefreshAndRevokesTheFamilyOnReuse() {
+        AuthResponse login = authService.register(register("rotation@example.com"));
+
+        AuthResponse first = authService.refreshToken(login.getRefreshToken());
+        assertThat(first.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+        AuthResponse second = authService.refreshToken(first.getRefreshToken());
+
+        // Replaying a rotated token kills the whole session, including the newest token
+        assertThatThrownBy(() -> authService.refreshToken(login.getRefreshToken()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> authService.refreshToken(second.getRefreshToken()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void retriedRefreshWithinGraceGetsTheSameResponse() {
+        AuthResponse login = authService.register(register("retry@example.com"));
+
+        AuthResponse first = authService.refreshToken(login.getRefreshToken());
+        // Same token sent again, e.g. from a second tab or after a lost response
+        AuthResponse retry = authService.refreshToken(login.getRefreshToken());
+
+        // No second token is minted; the family's current token keeps working
+        assertThat(retry.getRefreshToken()).isEqualTo(first.getRefreshToken());
+        assertThat(authService.refreshToken(retry.getRefreshToken()).getRefreshToken()).isNotNull();
+    }
+
+    @Test
+    void retryWithinGraceWithoutAReplyIsRefusedButKeepsTheSession() {
+        AuthResponse login = authService.register(register("other-node@example.com"));
+        // Rotated moments ago by another node, so this one has no reply to repeat
+        jdbcTemplate.update("UPDATE refresh_token_families " +
+                        "SET previous_token_id = current_token_id, current_token_id = RANDOM_UUID(), rotated_at = ? " +
+                        "WHERE user_id = (SELECT id FROM _user WHERE email = ?)",
+                new Timestamp(System.currentTimeMillis()), "other-node@example.com");
+
+        assertThatThrownBy(() -> authService.refreshToken(login.getRefreshToken()))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT revoked FROM refresh_token_families " +
+                "WHERE user_id = (SELECT id FROM _user WHERE email = ?)", Boolean.class, "other-node@example.com")).isFalse();
+    }
+
+    @Test
+    void replayAfterGraceRevokesTheFamily() {
+        AuthResponse login = authService.register(register("late-replay@example.com"));
+        AuthResponse first = authService.refreshToken(login.getRefreshToken());
+        jdbcTemplate.update("UPDATE refresh_token_families SET rotated_at = ? " +
+                        "WHERE user_id = (SELECT id FROM _user WHERE email = ?)",
+                new Timestamp(System.currentTimeMillis() - 60_000), "late-replay@example.com");
+
+        assertThatThrownBy(() -> authService.refreshToken(login.getRefreshToken()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> authService.refreshToken(first.getRefreshToken()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void logoutRevokesOnlyThatSession() {
+        AuthResponse phone = authService.register(register("logout@example.com"));
+        AuthRequest login = new AuthRequest();
+        login.setEmail("logout@example.com");
+        login.setPassword("secret123");
+        AuthResponse laptop = authService.authenticate(login);
+
+        authService.logout(laptop.getRefreshToken());
+
+        assertThatThrownBy(() -> authService.refreshToken(laptop.getRefreshToken()))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(authService.refreshToken(phone.getRefreshToken()).getRefreshToken()).isNotNull();
+    }
+
+    @Test
+    void accessTokenIsNotAcceptedAsRefreshToken() {
+        AuthResponse login = authService.register(register("wrong-type@example.com"));
+
+        assertThatThrownBy(() -> authService.refreshToken(login.getAccessToken()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static RegisterRequest register(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Rotation Test");
+        request.setEmail(email);
+        request.setPassword("secret123");
+        return request;
+    }
+}
@@ -0,0 +1,265 @@
+package com.eventconnect.server.service;
+
+import com.eventconnect.server.dto.BookingRequest;
+import com.eventconnect.server.entity.Event;
+import com.eventconnect.server.entity.Role;
+import com.eventconnect.server.entity.User;
+import com.eventconnect.server.exception.BadRequestException;
+import com.eventconnect.server.exception.ServiceUnavailableException;
+import com.eventconnect.server.repository.EventRepository;
+import com.eventconnect.server.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.eventconnect.server.service.SeatInventoryEngine.Reservation.NOT_MANAGED;
+import static com.eventconnect.server.service.SeatInventoryEngine.Reservation.RESERVED;
+import static com.eventconnect.server.service.SeatInventoryEngine.Reservation.SOLD_OUT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Scheduled flushes and evaluations are pushed out so each test drives them explicitly
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seat_inventory_db;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=10000",
+        "app.inventory.engine.enabled=true",
+        "app.inventory.engine.promote-threshold-per-sec=1",
+        "app.inventory.engine.flush-interval-ms=3600000",
+        "app.inventory.engine.evaluate-interval-ms=3600000"
+})
+class SeatInventoryEngineTest {
+
+    @Autowired
+    private SeatInventoryEngine engine;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void promotesHotEventAndFlushesSoldSeats() {
+        Event event = event(100);
+        promote(event);
+        assertThat(engine.availableSeats(event.getId())).hasValue(100);
+        assertThat(leaseCount(event)).isEqualTo(1);
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(engine.tryReserve(event.getId(), 1, LocalDateTime.now())).isEqualTo(RESERVED);
+        }
+        // Sold from memory only until the next flush
+        assertThat(seatsInRow(event)).isEqualTo(100);
+
+        engine.flush();
+        assertThat(seatsInRow(event)).isEqualTo(70);
+        assertThat(engine.availableSeats(event.getId())).hasValue(70);
+    }
+
+    @Test
+    void sellsOutFromMemory() {
+        Event event = event(10);
+        promote(event);
+
+        assertThat(engine.tryReserve(event.getId(), 4, LocalDateTime.now())).isEqualTo(RESERVED);
+        assertThat(engine.tryReserve(event.getId(), 4, LocalDateTime.now())).isEqualTo(RESERVED);
+        assertThat(engine.tryReserve(event.getId(), 4, LocalDateTime.now())).isEqualTo(SOLD_OUT);
+        assertThat(engine.tryReserve(event.getId(), 2, LocalDateTime.now())).isEqualTo(RESERVED);
+        assertThat(engine.tryReserve(event.getId(), 1, LocalDateTime.now())).isEqualTo(SOLD_OUT);
+
+        engine.flush();
+        assertThat(seatsInRow(event)).isZero();
+    }
+
+    @Test
+    void demotionWritesBackUnflushedSalesAndReleasesLease() {
+        Event event = event(100);
+        promote(event);
+        engine.tryReserve(event.getId(), 5, LocalDateTime.now());
+
+        engine.evict(event.getId());
+
+        assertThat(engine.availableSeats(event.getId())).isEmpty();
+        assertThat(seatsInRow(event)).isEqualTo(95);
+        assertThat(leaseCount(event)).isZero();
+        assertThat(engine.tryReserve(event.getId(), 1, LocalDateTime.now())).isEqualTo(NOT_MANAGED);
+    }
+
+    @Test
+    void rollbackAfterDemotionReturnsSeatsToRow() {
+        Event event = event(100);
+        promote(event);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(engine.tryReserve(event.getId(), 5, LocalDateTime.now())).isEqualTo(RESERVED);
+            engine.evict(event.getId());
+            assertThat(seatsInRow(event)).isEqualTo(95);
+            status.setRollbackOnly();
+        });
+
+        assertThat(seatsInRow(event)).isEqualTo(100);
+    }
+
+    @Test
+    void deletesHotEventWithUnflushedSales() {
+        Event event = event(100);
+        promote(event);
+        engine.tryReserve(event.getId(), 5, LocalDateTime.now());
+
+        eventService.deleteEvent(event.getId());
+
+        Event deleted = eventRepository.findById(event.getId()).orElseThrow();
+        assertThat(deleted.getIsActive()).isFalse();
+        assertThat(deleted.getAvailableSeats()).isEqualTo(95);
+        assertThat(engine.availableSeats(event.getId())).isEmpty();
+    }
+
+    @Test
+    void refusesEventsLeasedByAnotherNode() {
+        Event event = event(100);
+        jdbcTemplate.update("INSERT INTO seat_inventory_leases (event_id, owner, expires_at) VALUES (?, ?, ?)",
+                event.getId(), "other-node", LocalDateTime.now().plusMinutes(5));
+
+        promote(event);
+        assertThat(engine.availableSeats(event.getId())).isEmpty();
+
+        // A direct sale can't be checked against the other node's memory
+        assertThatThrownBy(() -> engine.absorbDirectSale(event.getId(), 1))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        // Once that lease lapses the event can be taken over
+        jdbcTemplate.update("UPDATE seat_inventory_leases SET expires_at = ? WHERE event_id = ?",
+                LocalDateTime.now().minusSeconds(1), event.getId());
+        assertThat(engine.absorbDirectSale(event.getId(), 1)).isTrue();
+        promote(event);
+        assertThat(engine.availableSeats(event.getId())).hasValue(100);
+    }
+
+    @Test
+    void reconcilesSeatsExceptForLeasedEvents() {
+        Event drifted = event(100);
+        Event hot = event(100);
+        jdbcTemplate.update("UPDATE events SET available_seats = available_seats - 7 WHERE id = ?", drifted.getId());
+        promote(hot);
+        engine.tryReserve(hot.getId(), 3, LocalDateTime.now());
+        engine.flush();
+
+        engine.reconcileOnStartup();
+
+        // No bookings exist, so the drifted row goes back to capacity
+        assertThat(seatsInRow(drifted)).isEqualTo(100);
+        // The hot event's sales are owned by its lease holder and left alone
+        assertThat(seatsInRow(hot)).isEqualTo(97);
+    }
+
+    @Test
+    void reconcileRunningDuringBookingsNeverLosesOne() throws Exception {
+        Event event = event(100);
+        List<String> buyers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String email = "reconcile-" + i + "-" + System.nanoTime() + "@example.com";
+            userRepository.save(User.builder().name("Buyer").email(email).password("x").role(Role.USER).build());
+            buyers.add(email);
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers.size());
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> bookings = new ArrayList<>();
+        for (String email : buyers) {
+            bookings.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 3; i++) {
+                    try {
+                        bookingService.bookTickets(email, booking(event, 1), new MockHttpServletRequest());
+                        sold.incrementAndGet();
+                    } catch (BadRequestException soldOut) {
+                        // Expected once the (possibly drifted) row runs out
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        // Drift the row and reconcile it back over and over while bookings commit
+        while (bookings.stream().anyMatch(f -> !f.isDone())) {
+            tx.executeWithoutResult(status -> eventRepository.applySoldSeats(event.getId(), 1));
+            engine.reconcile();
+        }
+        for (Future<?> booking : bookings) {
+            booking.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        engine.reconcile();
+
+        int booked = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(number_of_tickets), 0) FROM bookings WHERE event_id = ?",
+                Integer.class, event.getId());
+        assertThat(booked).isEqualTo(sold.get());
+        assertThat(seatsInRow(event)).isEqualTo(100 - booked);
+    }
+
+    private Event event(int seats) {
+        return eventRepository.save(Event.builder()
+                .title("Flash Sale " + System.nanoTime())
+                .date(LocalDateTime.now().plusDays(30))
+                .location("Mumbai, India")
+                .category("Music")
+                .ticketPrice(new BigDecimal("499.00"))
+                .capacity(seats)
+                .availableSeats(seats)
+                .build());
+    }
+
+    // Booking attempts above the threshold, then one evaluation; other hot events are demoted
+    private void promote(Event event) {
+        for (int i = 0; i < 1_000; i++) {
+            engine.tryReserve(event.getId(), 0, LocalDateTime.now());
+        }
+        engine.evaluateHotEvents();
+    }
+
+    private static BookingRequest booking(Event event, int tickets) {
+        BookingRequest request = new BookingRequest();
+        request.setEventId(event.getId());
+        request.setTickets(tickets);
+        request.setLatitude(19.07);
+        request.setLongitude(72.87);
+        return request;
+    }
+
+    private int seatsInRow(Event event) {
+        return jdbcTemplate.queryForObject("SELECT available_seats FROM events WHERE id = ?", Integer.class, event.getId());
+    }
+
+    private int leaseCount(Event event) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seat_inventory_leases WHERE event_id = ?",
+                Integer.class, event.getId());
+    }
+}